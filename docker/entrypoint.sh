@@ -10,4 +10,9 @@ if [ -n "$INSPECTIONCONFIG" ]
     INSPECTIONCONFIGFILE=/var/ci/Project_Default.xml
 fi
 
+if [ -n "$INSPECTIONFORMAT" ]
+    then `ls -d /PhpStorm-*/`bin/phpstorm.sh ea-inspect /var/ci/project ${INSPECTIONRESULTFILE} --format=${INSPECTIONFORMAT}
+    exit $?
+fi
+
 /vendor/bin/phpstorm-inspect `ls -d /PhpStorm-*/`bin/inspect.sh /root/.PhpStorm${PHPSTORMVERSION}/system /var/ci ${INSPECTIONCONFIGFILE} /var/ci/project checkstyle > ${INSPECTIONRESULTFILE}
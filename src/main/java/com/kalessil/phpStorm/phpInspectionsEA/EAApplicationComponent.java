@@ -5,6 +5,7 @@ import com.intellij.ide.plugins.PluginManager;
 import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.components.ApplicationComponent;
 import com.intellij.openapi.extensions.PluginId;
+import com.kalessil.phpStorm.phpInspectionsEA.profiling.InspectionsProfiler;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.analytics.AnalyticsUtil;
 import org.apache.log4j.FileAppender;
 import org.apache.log4j.Logger;
@@ -59,6 +60,8 @@ public class EAApplicationComponent implements ApplicationComponent {
 
     @Override
     public void disposeComponent() {
+        /* no-op unless profiling was requested */
+        InspectionsProfiler.exportReport();
     }
 
     @NotNull
@@ -0,0 +1,215 @@
+package com.kalessil.phpStorm.phpInspectionsEA.batch;
+
+import com.intellij.codeHighlighting.HighlightDisplayLevel;
+import com.intellij.codeInsight.daemon.HighlightDisplayKey;
+import com.intellij.codeInspection.InspectionManager;
+import com.intellij.codeInspection.InspectionProfile;
+import com.intellij.codeInspection.LocalInspectionTool;
+import com.intellij.codeInspection.LocalInspectionToolSession;
+import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.codeInspection.ex.InspectionToolWrapper;
+import com.intellij.codeInspection.ex.LocalInspectionToolWrapper;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.EmptyProgressIndicator;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.profile.codeInspection.InspectionProjectProfileManager;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiElementVisitor;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiRecursiveElementWalkingVisitor;
+import com.jetbrains.php.lang.PhpFileType;
+import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpInspection;
+import com.kalessil.phpStorm.phpInspectionsEA.openApi.VisitorsDispatcher;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+final public class BatchInspectionRunner {
+    private static final Logger LOG             = Logger.getInstance(BatchInspectionRunner.class);
+    private static final String pluginNamespace = "com.kalessil.phpStorm.phpInspectionsEA.";
+
+    @NotNull
+    private final Project project;
+    @NotNull
+    private final InspectionProfile profile;
+    @NotNull
+    private final List<LocalInspectionToolWrapper> tools;
+    private final AtomicInteger processedFiles = new AtomicInteger();
+
+    BatchInspectionRunner(@NotNull Project project) {
+        this.project = project;
+        this.profile = InspectionProjectProfileManager.getInstance(project).getInspectionProfile();
+        this.tools   = new ArrayList<>();
+        for (final InspectionToolWrapper wrapper : this.profile.getInspectionTools(null)) {
+            if (wrapper instanceof LocalInspectionToolWrapper && wrapper.getTool() instanceof BasePhpInspection) {
+                this.tools.add((LocalInspectionToolWrapper) wrapper);
+            } else if (wrapper.getTool().getClass().getName().startsWith(pluginNamespace)) {
+                /* e.g. composer.json inspections: only PHP files are inspected in batch mode */
+                LOG.info(String.format("[%s] is not supported in batch mode, skipped", wrapper.getShortName()));
+            }
+        }
+    }
+
+    int getProcessedFilesCount() {
+        return this.processedFiles.get();
+    }
+
+    @NotNull
+    List<VirtualFile> collectFiles() {
+        final List<VirtualFile> files = new ArrayList<>();
+        ApplicationManager.getApplication().runReadAction(() ->
+            ProjectRootManager.getInstance(this.project).getFileIndex().iterateContent(file -> {
+                if (!file.isDirectory() && file.getFileType() == PhpFileType.INSTANCE) {
+                    files.add(file);
+                }
+                return true;
+            })
+        );
+        return files;
+    }
+
+    /* files are sharded across workers, each file gets inspected in its own read action */
+    void run(@NotNull List<VirtualFile> files, int workers, @NotNull ResultsSink sink) throws InterruptedException, ExecutionException {
+        final ForkJoinPool pool = new ForkJoinPool(workers);
+        try {
+            pool.submit(() -> files.parallelStream().forEach(file -> this.inspect(file, sink))).get();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private void inspect(@NotNull VirtualFile file, @NotNull ResultsSink sink) {
+        ProgressManager.getInstance().runProcess(
+                () -> ApplicationManager.getApplication().runReadAction(() -> {
+                    final PsiFile psiFile = file.isValid() ? PsiManager.getInstance(this.project).findFile(file) : null;
+                    if (psiFile != null) {
+                        this.inspect(psiFile, this.getRelativePath(file), sink);
+                    }
+                }),
+                new EmptyProgressIndicator()
+        );
+        this.processedFiles.incrementAndGet();
+    }
+
+    /* the file is walked once, elements are fanned out to visitors of all enabled inspections */
+    private void inspect(@NotNull PsiFile file, @NotNull String path, @NotNull ResultsSink sink) {
+        final VisitorsDispatcher dispatcher = new VisitorsDispatcher();
+        final List<InspectionPass> passes   = new ArrayList<>();
+        final InspectionManager manager     = InspectionManager.getInstance(this.project);
+        for (final LocalInspectionToolWrapper wrapper : this.tools) {
+            final HighlightDisplayKey key = HighlightDisplayKey.find(wrapper.getShortName());
+            if (key != null && this.profile.isToolEnabled(key, file)) {
+                final HighlightDisplayLevel level = this.profile.getErrorLevel(key, file);
+                final InspectionPass pass         = new InspectionPass(wrapper, file, path);
+                try {
+                    if (pass.start(new StreamingProblemsHolder(manager, file, wrapper.getTool(), level.getName(), path, sink))) {
+                        dispatcher.register((BasePhpInspection) wrapper.getTool(), pass);
+                    }
+                    passes.add(pass);
+                } catch (final ProcessCanceledException cancellation) {
+                    throw cancellation;
+                } catch (final Throwable failure) {
+                    pass.fail(failure);
+                }
+            }
+        }
+
+        if (!dispatcher.isEmpty()) {
+            file.accept(new PsiRecursiveElementWalkingVisitor() {
+                @Override
+                public void visitElement(@NotNull PsiElement element) {
+                    element.accept(dispatcher);
+                    super.visitElement(element);
+                }
+            });
+        }
+        passes.forEach(InspectionPass::finish);
+        passes.clear();
+    }
+
+    @NotNull
+    String getRelativePath(@NotNull VirtualFile file) {
+        final VirtualFile base = this.project.getBaseDir();
+        final String relative  = base == null ? null : VfsUtilCore.getRelativePath(file, base);
+        return relative == null ? file.getPath() : relative;
+    }
+
+    /* an inspection run on a file: a crashing inspection is excluded for the rest of the file, not stopping others */
+    private static final class InspectionPass extends PsiElementVisitor {
+        @NotNull
+        private final LocalInspectionToolWrapper wrapper;
+        @NotNull
+        private final LocalInspectionToolSession session;
+        @NotNull
+        private final String path;
+        private PsiElementVisitor visitor;
+        private ProblemsHolder holder;
+        private boolean isFailed;
+
+        private InspectionPass(@NotNull LocalInspectionToolWrapper wrapper, @NotNull PsiFile file, @NotNull String path) {
+            this.wrapper = wrapper;
+            this.session = new LocalInspectionToolSession(file, 0, file.getTextLength());
+            this.path    = path;
+        }
+
+        /* returns false when the inspection has nothing to visit */
+        private boolean start(@NotNull ProblemsHolder holder) {
+            final LocalInspectionTool tool = this.wrapper.getTool();
+            this.holder                    = holder;
+            this.visitor                   = tool.buildVisitor(holder, false, this.session);
+            tool.inspectionStarted(this.session, false);
+            return this.visitor != PsiElementVisitor.EMPTY_VISITOR;
+        }
+
+        @Override
+        public void visitElement(@NotNull PsiElement element) {
+            if (!this.isFailed) {
+                try {
+                    element.accept(this.visitor);
+                } catch (final ProcessCanceledException cancellation) {
+                    throw cancellation;
+                } catch (final Throwable failure) {
+                    this.fail(failure);
+                }
+            }
+        }
+
+        private void finish() {
+            if (!this.isFailed) {
+                try {
+                    this.wrapper.getTool().inspectionFinished(this.session, this.holder);
+                } catch (final ProcessCanceledException cancellation) {
+                    throw cancellation;
+                } catch (final Throwable failure) {
+                    this.fail(failure);
+                }
+            }
+        }
+
+        private void fail(@NotNull Throwable failure) {
+            /* a crashing inspection must not stop the batch, report and continue */
+            this.isFailed = true;
+            LOG.warn(String.format("[%s] failed on %s", this.wrapper.getShortName(), this.path), failure);
+        }
+    }
+}
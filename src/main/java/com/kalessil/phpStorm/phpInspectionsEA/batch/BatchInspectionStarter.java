@@ -0,0 +1,110 @@
+package com.kalessil.phpStorm.phpInspectionsEA.batch;
+
+import com.intellij.ide.impl.ProjectUtil;
+import com.intellij.openapi.application.ApplicationStarterEx;
+import com.intellij.openapi.application.ex.ApplicationEx;
+import com.intellij.openapi.application.ex.ApplicationManagerEx;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.ShutDownTracker;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/**
+ * Headless entry point: `<ide>.sh ea-inspect <project-path> <results-file> [--workers=N]`.
+ * Runs enabled EA inspections of the project profile, sharding files across workers and streaming results out.
+ * With `--changed-since=<git-ref>` or `--changed-files=<list-file>` only changed files and their dependents
+ * are inspected, `--baseline=<results-file>` carries over results of the untouched files.
+ * Results are streamed as plain text, JSON-lines or SARIF (`--format=`), optionally gzip-compressed (`--gzip`).
+ */
+public class BatchInspectionStarter extends ApplicationStarterEx {
+    private static final Logger LOG = Logger.getInstance(BatchInspectionStarter.class);
+
+    @NotNull
+    @Override
+    public String getCommandName() {
+        return "ea-inspect";
+    }
+
+    @Override
+    public boolean isHeadless() {
+        return true;
+    }
+
+    @Override
+    public void premain(@NotNull String[] arguments) {
+        /* the application is not initialized yet, hence usage is printed and the process terminated directly */
+        if (BatchOptions.parse(arguments) == null) {
+            System.err.println(BatchOptions.usage);
+            System.exit(1);
+        }
+    }
+
+    @Override
+    public void main(@NotNull String[] arguments) {
+        final BatchOptions options      = BatchOptions.parse(arguments);
+        final ApplicationEx application = ApplicationManagerEx.getApplicationEx();
+        final Project project           = options == null ? null : ProjectUtil.openOrImport(options.projectPath, null, false);
+        if (project == null) {
+            /* options are validated in premain, so only opening the project can fail here */
+            LOG.error("Could not open the project: " + (options == null ? "" : options.projectPath));
+            exit(application, 1);
+            return;
+        }
+
+        /* indexes must be ready before inspecting, and waiting for them is not allowed in EDT */
+        application.executeOnPooledThread(() -> {
+            int exitCode = 0;
+            try (final ResultsSink sink = ResultsSink.open(options)) {
+                DumbService.getInstance(project).waitForSmartMode();
+
+                final long started                 = System.currentTimeMillis();
+                final BatchInspectionRunner runner = new BatchInspectionRunner(project);
+                final IncrementalScope scope       = IncrementalScope.create(options);
+                List<VirtualFile> files            = runner.collectFiles();
+                if (scope != null) {
+                    files = scope.select(project, files, runner);
+                    if (options.baselinePath != null) {
+                        final List<String> paths = new ArrayList<>();
+                        files.forEach(file -> paths.add(runner.getRelativePath(file)));
+                        scope.mergeBaseline(options.baselinePath, paths, sink);
+                        paths.clear();
+                    }
+                }
+                runner.run(files, options.workers, sink);
+                System.out.println(String.format(
+                        "Inspected %d files with %d workers in %d ms",
+                        runner.getProcessedFilesCount(),
+                        options.workers,
+                        System.currentTimeMillis() - started
+                ));
+            } catch (final Throwable failure) {
+                LOG.error("The batch analysis has failed", failure);
+                exitCode = 1;
+            }
+            exit(application, exitCode);
+        });
+    }
+
+    /* shuts the application down from EDT, disposing projects and components, instead of terminating the JVM */
+    private static void exit(@NotNull ApplicationEx application, int exitCode) {
+        if (exitCode != 0) {
+            /* the platform exits with 0: the failure status is set once the application has been disposed */
+            ShutDownTracker.getInstance().registerShutdownTask(() -> Runtime.getRuntime().halt(exitCode));
+        }
+        application.invokeLater(() -> application.exit(true, true));
+    }
+}
@@ -0,0 +1,102 @@
+package com.kalessil.phpStorm.phpInspectionsEA.batch;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+final public class BatchOptions {
+    static final String usage =
+            "Usage: <ide>.sh ea-inspect <project-path> <results-file> [--workers=N] [--format=text|jsonl|sarif] [--gzip]" +
+            " [--changed-since=<git-ref> | --changed-files=<list-file>] [--baseline=<results-file>]";
+
+    @NotNull
+    final String projectPath;
+    @NotNull
+    final String resultsPath;
+    final int workers;
+    @NotNull
+    String format = "text";
+    boolean gzip;
+    @Nullable
+    String changedSince;
+    @Nullable
+    String changedFilesList;
+    @Nullable
+    String baselinePath;
+
+    private BatchOptions(@NotNull String projectPath, @NotNull String resultsPath, int workers) {
+        this.projectPath = projectPath;
+        this.resultsPath = resultsPath;
+        this.workers     = workers;
+    }
+
+    /* arguments are starting with the command name, as the IDE passes them to application starters */
+    @Nullable
+    static BatchOptions parse(@NotNull String[] arguments) {
+        String projectPath      = null;
+        String resultsPath      = null;
+        int workers             = Runtime.getRuntime().availableProcessors();
+        String changedSince     = null;
+        String changedFilesList = null;
+        String baselinePath     = null;
+        String format           = "text";
+        boolean gzip            = false;
+        for (int index = 1; index < arguments.length; ++index) {
+            final String argument = arguments[index];
+            if (argument.startsWith("--workers=")) {
+                try {
+                    workers = Integer.parseInt(argument.substring("--workers=".length()));
+                } catch (final NumberFormatException failure) {
+                    return null;
+                }
+                if (workers < 1) {
+                    return null;
+                }
+            } else if (argument.startsWith("--format=")) {
+                format = argument.substring("--format=".length());
+                if (!format.equals("text") && !format.equals("jsonl") && !format.equals("sarif")) {
+                    return null;
+                }
+            } else if (argument.equals("--gzip")) {
+                gzip = true;
+            } else if (argument.startsWith("--changed-since=")) {
+                changedSince = argument.substring("--changed-since=".length());
+            } else if (argument.startsWith("--changed-files=")) {
+                changedFilesList = argument.substring("--changed-files=".length());
+            } else if (argument.startsWith("--baseline=")) {
+                baselinePath = argument.substring("--baseline=".length());
+            } else if (argument.startsWith("--")) {
+                return null;
+            } else if (projectPath == null) {
+                projectPath = argument;
+            } else if (resultsPath == null) {
+                resultsPath = argument;
+            } else {
+                return null;
+            }
+        }
+        /* the scope is defined either by a git reference or by a list, and baseline merging needs the scope */
+        if (projectPath == null || resultsPath == null || (changedSince != null && changedFilesList != null)) {
+            return null;
+        }
+        /* baselines are read back as plain text reports */
+        if (baselinePath != null && (!format.equals("text") || (changedSince == null && changedFilesList == null))) {
+            return null;
+        }
+        final BatchOptions options = new BatchOptions(projectPath, resultsPath, workers);
+        options.format             = format;
+        options.gzip               = gzip;
+        options.changedSince       = changedSince;
+        options.changedFilesList   = changedFilesList;
+        options.baselinePath       = baselinePath;
+        return options;
+    }
+}
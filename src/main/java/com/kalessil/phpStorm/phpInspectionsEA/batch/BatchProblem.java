@@ -0,0 +1,42 @@
+package com.kalessil.phpStorm.phpInspectionsEA.batch;
+
+import org.jetbrains.annotations.NotNull;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/* detached from PSI problem details: sinks are writing them out without holding read actions */
+final public class BatchProblem {
+    @NotNull
+    final String inspection;
+    @NotNull
+    final String file;
+    final int line;
+    final int column;
+    @NotNull
+    final String severity;
+    @NotNull
+    final String message;
+
+    BatchProblem(
+            @NotNull String inspection,
+            @NotNull String file,
+            int line,
+            int column,
+            @NotNull String severity,
+            @NotNull String message
+    ) {
+        this.inspection = inspection;
+        this.file       = file;
+        this.line       = line;
+        this.column     = column;
+        this.severity   = severity;
+        this.message    = message;
+    }
+}
@@ -0,0 +1,103 @@
+package com.kalessil.phpStorm.phpInspectionsEA.batch;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/* decouples workers from IO: a bounded queue drained by a writer thread, workers are blocked when it's full */
+final class BufferedResultsSink implements ResultsSink {
+    private static final BatchProblem endOfStream = new BatchProblem("", "", 0, 0, "", "");
+
+    @NotNull
+    private final ResultsSink delegate;
+    @NotNull
+    private final BlockingQueue<BatchProblem> queue;
+    @NotNull
+    private final Thread writer;
+    @Nullable
+    private volatile IOException failure;
+
+    BufferedResultsSink(@NotNull ResultsSink delegate, int capacity) {
+        this.delegate = delegate;
+        this.queue    = new ArrayBlockingQueue<>(capacity);
+        this.writer   = new Thread(this::drain, "EA inspections results writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @Override
+    public void accept(@NotNull BatchProblem problem) throws IOException {
+        this.enqueue(problem);
+    }
+
+    @Override
+    public void flush() {
+        /* the writer thread flushes each time the queue gets drained */
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            this.enqueue(endOfStream);
+            this.writer.join();
+        } catch (final InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while writing results");
+        } finally {
+            this.delegate.close();
+        }
+        this.rethrowFailure();
+    }
+
+    private void enqueue(@NotNull BatchProblem problem) throws IOException {
+        try {
+            /* the writer might fail while we are waiting: re-check periodically instead of blocking forever */
+            while (!this.queue.offer(problem, 100, TimeUnit.MILLISECONDS)) {
+                this.rethrowFailure();
+            }
+        } catch (final InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while writing results");
+        }
+        this.rethrowFailure();
+    }
+
+    private void rethrowFailure() throws IOException {
+        final IOException failure = this.failure;
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void drain() {
+        try {
+            BatchProblem problem;
+            while ((problem = this.queue.take()) != endOfStream) {
+                this.delegate.accept(problem);
+                if (this.queue.isEmpty()) {
+                    this.delegate.flush();
+                }
+            }
+            this.delegate.flush();
+        } catch (final IOException writeFailure) {
+            this.failure = writeFailure;
+            this.queue.clear();
+        } catch (final InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
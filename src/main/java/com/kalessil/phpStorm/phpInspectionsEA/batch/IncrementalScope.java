@@ -0,0 +1,252 @@
+package com.kalessil.phpStorm.phpInspectionsEA.batch;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.fileTypes.FileTypeManager;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiFileFactory;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.search.PsiSearchHelper;
+import com.jetbrains.php.PhpIndex;
+import com.jetbrains.php.lang.PhpFileType;
+import com.jetbrains.php.lang.psi.PhpFile;
+import com.jetbrains.php.lang.psi.elements.Field;
+import com.jetbrains.php.lang.psi.elements.Method;
+import com.jetbrains.php.lang.psi.elements.PhpClass;
+import com.jetbrains.php.lang.psi.elements.PhpNamedElement;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.OpenapiResolveUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.*;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/* changed files (git diff or a list) and files depending on declarations from them, previous and current ones */
+final class IncrementalScope {
+    private static final Logger LOG = Logger.getInstance(IncrementalScope.class);
+
+    /* paths relative to the project base directory, deleted files included */
+    @NotNull
+    final Set<String> changedPaths;
+    /* content of changed PHP files before the changes (path => content), null if the history is not available */
+    @Nullable
+    private final Map<String, String> previousContents;
+    @NotNull
+    private final String projectPath;
+
+    private IncrementalScope(
+            @NotNull String projectPath,
+            @NotNull Set<String> changedPaths,
+            @Nullable Map<String, String> previousContents
+    ) {
+        this.projectPath      = projectPath;
+        this.changedPaths     = changedPaths;
+        this.previousContents = previousContents;
+    }
+
+    @Nullable
+    static IncrementalScope create(@NotNull BatchOptions options) throws IOException, InterruptedException {
+        if (options.changedSince != null) {
+            /* changes of the branch only: compare with the fork point, not with the current state of the reference */
+            final String mergeBase = git(options.projectPath, "merge-base", options.changedSince, "HEAD");
+            if (mergeBase == null) {
+                throw new IOException("'git merge-base' failed for " + options.changedSince);
+            }
+            final String base = mergeBase.trim();
+            /* no renames detection: a renamed file is reported as deleted and added one; NUL-separated, not quoted paths */
+            final String diff = git(options.projectPath, "diff", "--name-only", "-z", "--relative", "--no-renames", base);
+            if (diff == null) {
+                throw new IOException("'git diff' failed against " + base);
+            }
+
+            final Set<String> paths            = new LinkedHashSet<>();
+            final Map<String, String> previous = new HashMap<>();
+            for (final String path : StringUtil.split(diff, "\0")) {
+                paths.add(path);
+                if (isPhpFile(path)) {
+                    /* added files have no previous content */
+                    final String content = git(options.projectPath, "show", base + ":./" + path);
+                    if (content != null) {
+                        previous.put(path, content);
+                    }
+                }
+            }
+            return new IncrementalScope(options.projectPath, paths, previous);
+        } else if (options.changedFilesList != null) {
+            final Set<String> paths = new LinkedHashSet<>();
+            for (final String line : Files.readAllLines(Paths.get(options.changedFilesList), StandardCharsets.UTF_8)) {
+                if (!line.trim().isEmpty()) {
+                    paths.add(FileUtil.toSystemIndependentName(line.trim()));
+                }
+            }
+            return new IncrementalScope(options.projectPath, paths, null);
+        }
+        return null;
+    }
+
+    /* the command output, null if the command has failed; warnings and errors are logged, not mixed into the output */
+    @Nullable
+    private static String git(@NotNull String projectPath, @NotNull String... arguments) throws IOException, InterruptedException {
+        final List<String> command = new ArrayList<>();
+        command.add("git");
+        Collections.addAll(command, arguments);
+        final File errors = FileUtil.createTempFile("ea-inspect-git", ".log");
+        try {
+            final Process process = new ProcessBuilder(command)
+                    .directory(new File(projectPath))
+                    .redirectError(errors)
+                    .start();
+            final String output   = new String(FileUtil.loadBytes(process.getInputStream()), StandardCharsets.UTF_8);
+            final boolean success = process.waitFor() == 0;
+            final String messages = FileUtil.loadFile(errors, StandardCharsets.UTF_8).trim();
+            if (!messages.isEmpty()) {
+                final String message = String.format("'%s': %s", String.join(" ", command), messages);
+                if (success) {
+                    LOG.info(message);
+                } else {
+                    LOG.warn(message);
+                }
+            }
+            return success ? output : null;
+        } finally {
+            FileUtil.delete(errors);
+        }
+    }
+
+    private static boolean isPhpFile(@NotNull String path) {
+        return FileTypeManager.getInstance().getFileTypeByFileName(new File(path).getName()) == PhpFileType.INSTANCE;
+    }
+
+    /* baseline problems of files not being re-inspected (and not deleted) are carried over into the new results */
+    void mergeBaseline(@NotNull String baselinePath, @NotNull Collection<String> inspectedPaths, @NotNull ResultsSink sink) throws IOException {
+        final Set<String> replaced = new HashSet<>(this.changedPaths);
+        replaced.addAll(inspectedPaths);
+        for (final String line : Files.readAllLines(Paths.get(baselinePath), StandardCharsets.UTF_8)) {
+            final BatchProblem problem = PlainTextResultsSink.parse(line);
+            if (problem != null && !replaced.contains(problem.file)) {
+                sink.accept(problem);
+            }
+        }
+    }
+
+    /* changed files, descendants of changed classes and files mentioning changed (current and previous) declarations */
+    @NotNull
+    List<VirtualFile> select(@NotNull Project project, @NotNull List<VirtualFile> files, @NotNull BatchInspectionRunner runner) {
+        final Set<VirtualFile> changed = new HashSet<>();
+        for (final VirtualFile file : files) {
+            if (this.changedPaths.contains(runner.getRelativePath(file))) {
+                changed.add(file);
+            }
+        }
+
+        /* deleted or renamed PHP files without history: their dependents can not be identified, hence a full run */
+        if (this.previousContents == null) {
+            for (final String path : this.changedPaths) {
+                if (isPhpFile(path) && !new File(this.projectPath, path).exists()) {
+                    return files;
+                }
+            }
+        }
+
+        final Set<VirtualFile> affected = new HashSet<>(changed);
+        ApplicationManager.getApplication().runReadAction(() -> {
+            final PsiManager manager      = PsiManager.getInstance(project);
+            final PhpIndex index          = PhpIndex.getInstance(project);
+            final GlobalSearchScope scope = GlobalSearchScope.projectScope(project);
+            final Set<String> names       = new HashSet<>();
+            final Set<String> classes     = new HashSet<>();
+            for (final VirtualFile file : changed) {
+                final PsiFile psiFile = manager.findFile(file);
+                if (psiFile instanceof PhpFile) {
+                    collectDeclarations((PhpFile) psiFile, names, classes);
+                }
+            }
+            /* removed and renamed declarations are known only from the previous content */
+            if (this.previousContents != null) {
+                final PsiFileFactory factory = PsiFileFactory.getInstance(project);
+                this.previousContents.forEach((path, content) -> {
+                    final PsiFile psiFile = factory.createFileFromText(new File(path).getName(), PhpFileType.INSTANCE, content);
+                    if (psiFile instanceof PhpFile) {
+                        collectDeclarations((PhpFile) psiFile, names, classes);
+                    }
+                });
+            }
+
+            /* descendants are inheriting members, so their contracts are changing as well */
+            final Set<String> processed = new HashSet<>();
+            final Deque<String> queue   = new ArrayDeque<>(classes);
+            while (!queue.isEmpty()) {
+                final String fqn = queue.poll();
+                if (processed.add(fqn)) {
+                    for (final PhpClass child : OpenapiResolveUtil.resolveChildClasses(fqn, index)) {
+                        final PsiFile childFile = child.getContainingFile();
+                        if (childFile != null && childFile.getVirtualFile() != null) {
+                            affected.add(childFile.getVirtualFile());
+                        }
+                        queue.add(child.getFQN());
+                    }
+                }
+            }
+
+            /* identifiers lookup over the words index: over-approximates usages, dynamic references are not tracked */
+            final PsiSearchHelper search = PsiSearchHelper.SERVICE.getInstance(project);
+            for (final String name : names) {
+                if (!name.isEmpty()) {
+                    search.processAllFilesWithWord(name, scope, psiFile -> {
+                        final VirtualFile file = psiFile.getVirtualFile();
+                        if (file != null) {
+                            affected.add(file);
+                        }
+                        return true;
+                    }, false);
+                }
+            }
+        });
+
+        final List<VirtualFile> result = new ArrayList<>();
+        for (final VirtualFile file : files) {
+            if (affected.contains(file)) {
+                result.add(file);
+            }
+        }
+        return result;
+    }
+
+    /* names of functions, constants, classes and their members (fields and class constants included), FQNs of classes */
+    private static void collectDeclarations(@NotNull PhpFile file, @NotNull Set<String> names, @NotNull Set<String> classes) {
+        for (final PhpNamedElement element : file.getTopLevelDefs().values()) {
+            names.add(element.getName());
+            if (element instanceof PhpClass) {
+                final PhpClass clazz = (PhpClass) element;
+                classes.add(clazz.getFQN());
+                /* call sites of methods: magic methods are reached by the class name */
+                for (final Method method : clazz.getOwnMethods()) {
+                    if (!method.getName().startsWith("__")) {
+                        names.add(method.getName());
+                    }
+                }
+                for (final Field field : clazz.getOwnFields()) {
+                    names.add(field.getName());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.kalessil.phpStorm.phpInspectionsEA.batch;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/* one JSON object per line: consumable by line-oriented tools while the analysis is still running */
+final class JsonLinesResultsSink implements ResultsSink {
+    @NotNull
+    private final Writer writer;
+
+    JsonLinesResultsSink(@NotNull Writer writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public synchronized void accept(@NotNull BatchProblem problem) throws IOException {
+        this.writer.write(String.format(
+                "{\"inspection\":\"%s\",\"file\":\"%s\",\"line\":%d,\"column\":%d,\"severity\":\"%s\",\"message\":\"%s\"}\n",
+                escape(problem.inspection),
+                escape(problem.file),
+                problem.line,
+                problem.column,
+                escape(problem.severity),
+                escape(problem.message)
+        ));
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+        this.writer.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        this.writer.close();
+    }
+
+    @NotNull
+    static String escape(@NotNull String value) {
+        final StringBuilder result = new StringBuilder(value.length() + 16);
+        for (final char character : value.toCharArray()) {
+            switch (character) {
+                case '"':  result.append("\\\""); break;
+                case '\\': result.append("\\\\"); break;
+                case '\n': result.append("\\n");  break;
+                case '\r': result.append("\\r");  break;
+                case '\t': result.append("\\t");  break;
+                default:
+                    if (character < 0x20) {
+                        result.append(String.format("\\u%04x", (int) character));
+                    } else {
+                        result.append(character);
+                    }
+                    break;
+            }
+        }
+        return result.toString();
+    }
+}
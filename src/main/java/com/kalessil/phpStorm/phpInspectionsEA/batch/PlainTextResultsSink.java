@@ -0,0 +1,70 @@
+package com.kalessil.phpStorm.phpInspectionsEA.batch;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/* one "file:line:column: severity: [inspection] message" line per problem */
+final public class PlainTextResultsSink implements ResultsSink {
+    private static final Pattern problemLine = Pattern.compile("^(.+):(\\d+):(\\d+): ([^:]+): \\[([^\\]]+)\\] (.*)$");
+
+    @NotNull
+    private final Writer writer;
+
+    PlainTextResultsSink(@NotNull Writer writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public synchronized void accept(@NotNull BatchProblem problem) throws IOException {
+        this.writer.write(String.format(
+                "%s:%d:%d: %s: [%s] %s\n",
+                problem.file,
+                problem.line,
+                problem.column,
+                problem.severity,
+                problem.inspection,
+                problem.message
+        ));
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+        this.writer.flush();
+    }
+
+    /* reverse of accept(), used for reading baseline reports */
+    @Nullable
+    static BatchProblem parse(@NotNull String line) {
+        final Matcher matcher = problemLine.matcher(line);
+        if (!matcher.matches()) {
+            return null;
+        }
+        return new BatchProblem(
+                matcher.group(5),
+                matcher.group(1),
+                Integer.parseInt(matcher.group(2)),
+                Integer.parseInt(matcher.group(3)),
+                matcher.group(4),
+                matcher.group(6)
+        );
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        this.writer.close();
+    }
+}
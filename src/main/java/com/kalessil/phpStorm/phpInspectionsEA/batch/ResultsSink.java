@@ -0,0 +1,49 @@
+package com.kalessil.phpStorm.phpInspectionsEA.batch;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.zip.GZIPOutputStream;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/* receives problems as they are registered by inspections, implementations must be thread-safe */
+public interface ResultsSink extends Closeable, Flushable {
+    int bufferCapacity = 4096;
+
+    void accept(@NotNull BatchProblem problem) throws IOException;
+
+    @NotNull
+    static ResultsSink open(@NotNull BatchOptions options) throws IOException {
+        OutputStream stream = Files.newOutputStream(Paths.get(options.resultsPath));
+        if (options.gzip) {
+            /* sync flush: compressed results are still readable while the analysis is running */
+            stream = new GZIPOutputStream(stream, 64 * 1024, true);
+        }
+        final Writer writer = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8));
+
+        final ResultsSink sink;
+        switch (options.format) {
+            case "jsonl":
+                sink = new JsonLinesResultsSink(writer);
+                break;
+            case "sarif":
+                sink = new SarifResultsSink(writer);
+                break;
+            default:
+                sink = new PlainTextResultsSink(writer);
+                break;
+        }
+        return new BufferedResultsSink(sink, bufferCapacity);
+    }
+}
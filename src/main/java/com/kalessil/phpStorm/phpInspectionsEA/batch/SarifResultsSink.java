@@ -0,0 +1,76 @@
+package com.kalessil.phpStorm.phpInspectionsEA.batch;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import static com.kalessil.phpStorm.phpInspectionsEA.batch.JsonLinesResultsSink.escape;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/* SARIF 2.1.0 log with a single run: the document is opened upfront and results are appended as they arrive */
+final class SarifResultsSink implements ResultsSink {
+    @NotNull
+    private final Writer writer;
+    private boolean isFirst = true;
+
+    SarifResultsSink(@NotNull Writer writer) throws IOException {
+        this.writer = writer;
+        this.writer.write(
+                "{\"$schema\":\"https://json.schemastore.org/sarif-2.1.0.json\",\"version\":\"2.1.0\",\"runs\":[{" +
+                "\"tool\":{\"driver\":{\"name\":\"Php Inspections (EA Extended)\"," +
+                "\"informationUri\":\"https://github.com/kalessil/phpinspectionsea\"}}," +
+                "\"results\":[\n"
+        );
+    }
+
+    @Override
+    public synchronized void accept(@NotNull BatchProblem problem) throws IOException {
+        this.writer.write(String.format(
+                "%s{\"ruleId\":\"%s\",\"level\":\"%s\",\"message\":{\"text\":\"%s\"},\"locations\":[{\"physicalLocation\":" +
+                "{\"artifactLocation\":{\"uri\":\"%s\"},\"region\":{\"startLine\":%d,\"startColumn\":%d}}}]}\n",
+                this.isFirst ? "" : ",",
+                escape(problem.inspection),
+                getLevel(problem.severity),
+                escape(problem.message),
+                escape(problem.file),
+                problem.line,
+                problem.column
+        ));
+        this.isFirst = false;
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+        this.writer.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            this.writer.write("]}]}\n");
+        } finally {
+            this.writer.close();
+        }
+    }
+
+    @NotNull
+    private static String getLevel(@NotNull String severity) {
+        switch (severity) {
+            case "ERROR":
+                return "error";
+            case "WARNING":
+                return "warning";
+            default:
+                return "note";
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.kalessil.phpStorm.phpInspectionsEA.batch;
+
+import com.intellij.codeInspection.InspectionManager;
+import com.intellij.codeInspection.LocalInspectionTool;
+import com.intellij.codeInspection.ProblemDescriptor;
+import com.intellij.codeInspection.ProblemDescriptorUtil;
+import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/* passes problems to the sink instead of collecting them: memory stays flat regardless of problems amount */
+final class StreamingProblemsHolder extends ProblemsHolder {
+    @NotNull
+    private final LocalInspectionTool inspection;
+    @NotNull
+    private final String severity;
+    @NotNull
+    private final String path;
+    @NotNull
+    private final ResultsSink sink;
+
+    StreamingProblemsHolder(
+            @NotNull InspectionManager manager,
+            @NotNull PsiFile file,
+            @NotNull LocalInspectionTool inspection,
+            @NotNull String severity,
+            @NotNull String path,
+            @NotNull ResultsSink sink
+    ) {
+        super(manager, file, false);
+        this.inspection = inspection;
+        this.severity   = severity;
+        this.path       = path;
+        this.sink       = sink;
+    }
+
+    @Override
+    public void registerProblem(@NotNull ProblemDescriptor descriptor) {
+        final PsiElement element = descriptor.getPsiElement();
+        /* respect `@noinspection` tags and other suppressions, as the IDE does */
+        if (element != null && this.inspection.isSuppressedFor(element)) {
+            return;
+        }
+
+        final Document document = PsiDocumentManager.getInstance(this.getProject()).getDocument(this.getFile());
+        int line                = 0;
+        int column              = 0;
+        if (element != null && document != null) {
+            final TextRange range = descriptor.getTextRangeInElement();
+            final int offset      = element.getTextRange().getStartOffset() + (range == null ? 0 : range.getStartOffset());
+            line                  = document.getLineNumber(offset);
+            column                = offset - document.getLineStartOffset(line);
+        }
+
+        try {
+            this.sink.accept(new BatchProblem(
+                    this.inspection.getShortName(),
+                    this.path,
+                    line + 1,
+                    column + 1,
+                    this.severity,
+                    ProblemDescriptorUtil.renderDescriptionMessage(descriptor, element)
+            ));
+        } catch (final IOException failure) {
+            throw new UncheckedIOException(failure);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.kalessil.phpStorm.phpInspectionsEA.indexers;
+
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.IOUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+final public class CallableParameterMeta {
+    private static final byte BY_REFERENCE = 0b001;
+    private static final byte VARIADIC     = 0b010;
+    private static final byte HAS_DEFAULT  = 0b100;
+
+    public static final DataExternalizer<CallableParameterMeta> EXTERNALIZER = new DataExternalizer<CallableParameterMeta>() {
+        @Override
+        public void save(@NotNull DataOutput out, @NotNull CallableParameterMeta value) throws IOException {
+            IOUtil.writeUTF(out, value.name);
+            out.writeByte(value.flags);
+            if (value.defaultValue != null) {
+                IOUtil.writeUTF(out, value.defaultValue);
+            }
+        }
+
+        @NotNull
+        @Override
+        public CallableParameterMeta read(@NotNull DataInput in) throws IOException {
+            final String name = IOUtil.readUTF(in);
+            final byte flags  = in.readByte();
+            /* default values are repeating a lot ("null", "false", "[]" and co), hence interning them */
+            return new CallableParameterMeta(name, flags, (flags & HAS_DEFAULT) == 0 ? null : IOUtil.readUTF(in).intern());
+        }
+    };
+
+    @NotNull
+    private final String name;
+    private final byte flags;
+    @Nullable
+    private final String defaultValue;
+
+    public CallableParameterMeta(@NotNull String name, boolean isPassByRef, boolean isVariadic, @Nullable String defaultValue) {
+        this(
+            name,
+            (byte) ((isPassByRef ? BY_REFERENCE : 0) | (isVariadic ? VARIADIC : 0) | (defaultValue == null ? 0 : HAS_DEFAULT)),
+            defaultValue
+        );
+    }
+
+    private CallableParameterMeta(@NotNull String name, byte flags, @Nullable String defaultValue) {
+        this.name         = name;
+        this.flags        = flags;
+        this.defaultValue = defaultValue;
+    }
+
+    @NotNull
+    public String getName() {
+        return this.name;
+    }
+
+    public boolean isPassByRef() {
+        return (this.flags & BY_REFERENCE) != 0;
+    }
+
+    public boolean isVariadic() {
+        return (this.flags & VARIADIC) != 0;
+    }
+
+    @Nullable
+    public String getDefaultValue() {
+        return this.defaultValue;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof CallableParameterMeta)) {
+            return false;
+        }
+        final CallableParameterMeta meta = (CallableParameterMeta) other;
+        return this.flags == meta.flags &&
+               this.name.equals(meta.name) &&
+               (this.defaultValue == null ? meta.defaultValue == null : this.defaultValue.equals(meta.defaultValue));
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * this.name.hashCode() + this.flags) + (this.defaultValue == null ? 0 : this.defaultValue.hashCode());
+    }
+}
@@ -0,0 +1,149 @@
+package com.kalessil.phpStorm.phpInspectionsEA.indexers;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.indexing.*;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import com.jetbrains.php.lang.PhpFileType;
+import com.jetbrains.php.lang.psi.PhpFile;
+import com.jetbrains.php.lang.psi.elements.Field;
+import com.jetbrains.php.lang.psi.elements.Method;
+import com.jetbrains.php.lang.psi.elements.PhpClass;
+import com.jetbrains.php.lang.psi.elements.PhpNamedElement;
+import gnu.trove.THashMap;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/**
+ * Member key => FQNs of classes (interfaces and traits included) declaring the member as own one. Methods are keyed
+ * by lower-cased name (PHP method names are case-insensitive), fields by `$name`.
+ *
+ * Indexers are not allowed to resolve anything, hence the hierarchy itself is not indexed: the index is narrowing
+ * override candidates down to the classes declaring the member, instead of crawling all sub-classes.
+ */
+public class MemberDeclarationsIndexer extends FileBasedIndexExtension<String, List<String>> {
+    public static final ID<String, List<String>> identity     = ID.create("kalessil.phpStorm.phpInspectionsEA.member_declarations");
+    private static final KeyDescriptor<String> descriptor     = new EnumeratorStringDescriptor();
+    private final DataExternalizer<List<String>> externalizer = new DataExternalizer<List<String>>() {
+        @Override
+        public void save(@NotNull DataOutput out, @NotNull List<String> classes) throws IOException {
+            DataInputOutputUtil.writeINT(out, classes.size());
+            for (final String clazz : classes) {
+                descriptor.save(out, clazz);
+            }
+        }
+
+        @NotNull
+        @Override
+        public List<String> read(@NotNull DataInput in) throws IOException {
+            final int size            = DataInputOutputUtil.readINT(in);
+            final List<String> result = new ArrayList<>(size);
+            for (int index = 0; index < size; ++index) {
+                result.add(descriptor.read(in));
+            }
+            return result;
+        }
+    };
+
+    /* FQNs of classes declaring own method with the given name */
+    @NotNull
+    public static Set<String> getMethodDeclarations(@NotNull String methodName, @NotNull Project project) {
+        return getDeclarations(methodName.toLowerCase(), project);
+    }
+
+    /* FQNs of classes declaring own field with the given name */
+    @NotNull
+    public static Set<String> getFieldDeclarations(@NotNull String fieldName, @NotNull Project project) {
+        return getDeclarations('$' + fieldName, project);
+    }
+
+    @NotNull
+    private static Set<String> getDeclarations(@NotNull String key, @NotNull Project project) {
+        final Set<String> result = new HashSet<>();
+        FileBasedIndex.getInstance().getValues(identity, key, GlobalSearchScope.allScope(project)).forEach(result::addAll);
+        return result;
+    }
+
+    @NotNull
+    @Override
+    public ID<String, List<String>> getName() {
+        return identity;
+    }
+
+    @NotNull
+    @Override
+    public DataIndexer<String, List<String>, FileContent> getIndexer() {
+        return file -> {
+            final PsiFile psiFile = file.getPsiFile();
+            if (psiFile instanceof PhpFile) {
+                final Map<String, List<String>> result = new THashMap<>();
+                for (final PhpNamedElement element : ((PhpFile) psiFile).getTopLevelDefs().values()) {
+                    if (element instanceof PhpClass) {
+                        final PhpClass clazz = (PhpClass) element;
+                        final String fqn     = clazz.getFQN();
+                        for (final Method method : clazz.getOwnMethods()) {
+                            result.computeIfAbsent(method.getName().toLowerCase(), key -> new ArrayList<>()).add(fqn);
+                        }
+                        for (final Field field : clazz.getOwnFields()) {
+                            if (!field.isConstant()) {
+                                result.computeIfAbsent('$' + field.getName(), key -> new ArrayList<>()).add(fqn);
+                            }
+                        }
+                    }
+                }
+                return result;
+            }
+
+            return new THashMap<>();
+        };
+    }
+
+    @NotNull
+    @Override
+    public KeyDescriptor<String> getKeyDescriptor() {
+        return descriptor;
+    }
+
+    @NotNull
+    @Override
+    public DataExternalizer<List<String>> getValueExternalizer() {
+        return externalizer;
+    }
+
+    @Override
+    public int getVersion() {
+        return 1;
+    }
+
+    @NotNull
+    @Override
+    public FileBasedIndex.InputFilter getInputFilter() {
+        return file -> file.getFileType() == PhpFileType.INSTANCE;
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+}
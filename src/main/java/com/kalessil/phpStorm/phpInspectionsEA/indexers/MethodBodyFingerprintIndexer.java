@@ -0,0 +1,93 @@
+package com.kalessil.phpStorm.phpInspectionsEA.indexers;
+
+import com.intellij.psi.PsiFile;
+import com.intellij.util.indexing.*;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.EnumeratorIntegerDescriptor;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import com.jetbrains.php.lang.PhpFileType;
+import com.jetbrains.php.lang.psi.PhpFile;
+import com.jetbrains.php.lang.psi.elements.GroupStatement;
+import com.jetbrains.php.lang.psi.elements.Method;
+import com.jetbrains.php.lang.psi.elements.PhpClass;
+import com.jetbrains.php.lang.psi.elements.PhpNamedElement;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.ExpressionSemanticUtil;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.OpenapiEquivalenceUtil;
+import gnu.trove.THashMap;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/* method FQN (as in `Method.getFQN()`) => fingerprint of the method body, see OpenapiEquivalenceUtil.getFingerprint */
+public class MethodBodyFingerprintIndexer extends FileBasedIndexExtension<String, Integer> {
+    public static final ID<String, Integer> identity = ID.create("kalessil.phpStorm.phpInspectionsEA.method_body_fingerprint");
+    private final KeyDescriptor<String> descriptor   = new EnumeratorStringDescriptor();
+
+    @NotNull
+    @Override
+    public ID<String, Integer> getName() {
+        return identity;
+    }
+
+    @NotNull
+    @Override
+    public DataIndexer<String, Integer, FileContent> getIndexer() {
+        return file -> {
+            final PsiFile psiFile = file.getPsiFile();
+            if (psiFile instanceof PhpFile) {
+                final Map<String, Integer> result = new THashMap<>();
+                for (final PhpNamedElement element : ((PhpFile) psiFile).getTopLevelDefs().values()) {
+                    if (element instanceof PhpClass && !((PhpClass) element).isInterface()) {
+                        for (final Method method : ((PhpClass) element).getOwnMethods()) {
+                            final GroupStatement body = ExpressionSemanticUtil.getGroupStatement(method);
+                            if (body != null) {
+                                result.put(method.getFQN(), OpenapiEquivalenceUtil.computeFingerprint(body));
+                            }
+                        }
+                    }
+                }
+                return result;
+            }
+
+            return new THashMap<>();
+        };
+    }
+
+    @NotNull
+    @Override
+    public KeyDescriptor<String> getKeyDescriptor() {
+        return descriptor;
+    }
+
+    @NotNull
+    @Override
+    public DataExternalizer<Integer> getValueExternalizer() {
+        return EnumeratorIntegerDescriptor.INSTANCE;
+    }
+
+    @Override
+    public int getVersion() {
+        return 1;
+    }
+
+    @NotNull
+    @Override
+    public FileBasedIndex.InputFilter getInputFilter() {
+        return file -> file.getFileType() == PhpFileType.INSTANCE;
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+}
@@ -1,9 +1,12 @@
 package com.kalessil.phpStorm.phpInspectionsEA.indexers;
 
+import com.intellij.openapi.project.Project;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
+import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.util.indexing.*;
 import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
 import com.intellij.util.io.EnumeratorStringDescriptor;
 import com.intellij.util.io.KeyDescriptor;
 import com.jetbrains.php.lang.PhpFileType;
@@ -14,7 +17,13 @@ import com.jetbrains.php.lang.psi.elements.PhpClass;
 import com.jetbrains.php.lang.psi.elements.PhpNamedElement;
 import gnu.trove.THashMap;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 /*
@@ -26,23 +35,56 @@ import java.util.Map;
  * file that was distributed with this source code.
  */
 
-public class NamedCallableParametersMetaIndexer extends FileBasedIndexExtension<String, String> {
-    public static final ID<String, String> identity = ID.create("kalessil.phpStorm.phpInspectionsEA.callable_parameters");
-    private final KeyDescriptor<String> descriptor  = new EnumeratorStringDescriptor();
+public class NamedCallableParametersMetaIndexer extends FileBasedIndexExtension<String, List<CallableParameterMeta>> {
+    public static final ID<String, List<CallableParameterMeta>> identity     = ID.create("kalessil.phpStorm.phpInspectionsEA.callable_parameters");
+    private final KeyDescriptor<String> descriptor                           = new EnumeratorStringDescriptor();
+    private final DataExternalizer<List<CallableParameterMeta>> externalizer = new DataExternalizer<List<CallableParameterMeta>>() {
+        @Override
+        public void save(@NotNull DataOutput out, @NotNull List<CallableParameterMeta> parameters) throws IOException {
+            DataInputOutputUtil.writeINT(out, parameters.size());
+            for (final CallableParameterMeta parameter : parameters) {
+                CallableParameterMeta.EXTERNALIZER.save(out, parameter);
+            }
+        }
+
+        @NotNull
+        @Override
+        public List<CallableParameterMeta> read(@NotNull DataInput in) throws IOException {
+            final int size                           = DataInputOutputUtil.readINT(in);
+            final List<CallableParameterMeta> result = new ArrayList<>(size);
+            for (int index = 0; index < size; ++index) {
+                result.add(CallableParameterMeta.EXTERNALIZER.read(in));
+            }
+            return result;
+        }
+    };
+
+    /* returns ordered parameters meta of the function/method (FQN as in `Function.getFQN()`), null if unknown or ambiguous */
+    @Nullable
+    public static List<CallableParameterMeta> getParameters(@NotNull String fqn, @NotNull Project project) {
+        final List<List<CallableParameterMeta>> definitions = getDefinitions(fqn, project);
+        return definitions.size() == 1 ? definitions.get(0) : null;
+    }
+
+    /* returns parameters meta of all functions/methods defined with the FQN (as in `Function.getFQN()`) */
+    @NotNull
+    public static List<List<CallableParameterMeta>> getDefinitions(@NotNull String fqn, @NotNull Project project) {
+        return FileBasedIndex.getInstance().getValues(identity, fqn, GlobalSearchScope.allScope(project));
+    }
 
     @NotNull
     @Override
-    public ID<String, String> getName() {
+    public ID<String, List<CallableParameterMeta>> getName() {
         return identity;
     }
 
     @NotNull
     @Override
-    public DataIndexer<String, String, FileContent> getIndexer() {
+    public DataIndexer<String, List<CallableParameterMeta>, FileContent> getIndexer() {
         return file -> {
             final PsiFile psiFile = file.getPsiFile();
             if (psiFile instanceof PhpFile) {
-                final Map<String, String> result = new THashMap<>();
+                final Map<String, List<CallableParameterMeta>> result = new THashMap<>();
                 for (final PhpNamedElement element : ((PhpFile) psiFile).getTopLevelDefs().values()) {
                     if (element instanceof Function) {
                         extractMeta(result, (Function) element);
@@ -57,25 +99,21 @@ public class NamedCallableParametersMetaIndexer extends FileBasedIndexExtension<
         };
     }
 
-    static private void extractMeta(@NotNull Map<String, String> storage, @NotNull Function ...functions) {
+    static private void extractMeta(@NotNull Map<String, List<CallableParameterMeta>> storage, @NotNull Function ...functions) {
         for (final Function function : functions) {
-            final String fqn = function.getFQN();
-            for (final Parameter parameter : function.getParameters()) {
-                final String parameterName = parameter.getName();
-                if (!parameterName.isEmpty()) {
-                    final PsiElement value = parameter.getDefaultValue();
-                    storage.put(
-                            String.format("%s.%s", fqn, parameterName),
-                            String.format(
-                                    "ref:%s;var:%s;def:%s",
-                                    parameter.isPassByRef() ? 1 : 0,
-                                    parameter.isVariadic() ? 1 : 0,
-                                    value == null ? "" : value.getText()
-
-                            )
-                    );
-                }
+            final Parameter[] parameters            = function.getParameters();
+            final List<CallableParameterMeta> metas = new ArrayList<>(parameters.length);
+            /* keep all parameters, so positions are matching call arguments positions */
+            for (final Parameter parameter : parameters) {
+                final PsiElement value = parameter.getDefaultValue();
+                metas.add(new CallableParameterMeta(
+                        parameter.getName(),
+                        parameter.isPassByRef(),
+                        parameter.isVariadic(),
+                        value == null ? null : value.getText()
+                ));
             }
+            storage.put(function.getFQN(), metas);
         }
     }
 
@@ -87,13 +125,13 @@ public class NamedCallableParametersMetaIndexer extends FileBasedIndexExtension<
 
     @NotNull
     @Override
-    public DataExternalizer<String> getValueExternalizer() {
-        return EnumeratorStringDescriptor.INSTANCE;
+    public DataExternalizer<List<CallableParameterMeta>> getValueExternalizer() {
+        return externalizer;
     }
 
     @Override
     public int getVersion() {
-        return 1;
+        return 3;
     }
 
     @NotNull
@@ -107,4 +145,3 @@ public class NamedCallableParametersMetaIndexer extends FileBasedIndexExtension<
         return true;
     }
 }
-
@@ -4,16 +4,14 @@ import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.codeInspection.ProblemsHolder;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiElementVisitor;
-import com.jetbrains.php.codeInsight.PhpScopeHolder;
-import com.jetbrains.php.codeInsight.controlFlow.PhpControlFlowUtil;
 import com.jetbrains.php.codeInsight.controlFlow.instructions.PhpAccessVariableInstruction;
-import com.jetbrains.php.codeInsight.controlFlow.instructions.PhpEntryPointInstruction;
 import com.jetbrains.php.lang.psi.elements.Function;
 import com.jetbrains.php.lang.psi.elements.Method;
 import com.jetbrains.php.lang.psi.elements.Parameter;
 import com.jetbrains.php.lang.psi.elements.PhpUnset;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpElementVisitor;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpInspection;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.DefUseChainsUtil;
 import org.apache.commons.lang.StringUtils;
 import org.jetbrains.annotations.NotNull;
 
@@ -46,9 +44,7 @@ public class UselessUnsetInspector extends BasePhpInspection {
                 this.inspectUsages(function.getParameters(), function);
             }
 
-            private void inspectUsages(@NotNull Parameter[] parameters, @NotNull PhpScopeHolder objScopeHolder) {
-                final PhpEntryPointInstruction objEntryPoint = objScopeHolder.getControlFlow().getEntryPoint();
-
+            private void inspectUsages(@NotNull Parameter[] parameters, @NotNull Function function) {
                 for (Parameter parameter : parameters) {
                     final String parameterName = parameter.getName();
                     if (StringUtils.isEmpty(parameterName)) {
@@ -56,8 +52,7 @@ public class UselessUnsetInspector extends BasePhpInspection {
                     }
 
                     /* find all usages of a parameter */
-                    PhpAccessVariableInstruction[] usages =
-                            PhpControlFlowUtil.getFollowingVariableAccessInstructions(objEntryPoint, parameterName, false);
+                    final PhpAccessVariableInstruction[] usages = DefUseChainsUtil.getAccesses(function, parameterName);
                     if (usages.length == 0) {
                         continue;
                     }
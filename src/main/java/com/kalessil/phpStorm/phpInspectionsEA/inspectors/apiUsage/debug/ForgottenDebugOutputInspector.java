@@ -15,6 +15,7 @@ import com.kalessil.phpStorm.phpInspectionsEA.utils.OpenapiResolveUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.OpenapiTypesUtil;
 import org.jdom.Element;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
 import java.util.*;
@@ -189,6 +190,18 @@ public class ForgottenDebugOutputInspector extends BasePhpInspection {
         functionsRequirements.put("var_dump",               -1);
     }
 
+    @Nullable
+    @Override
+    public Set<String> getTargetFunctions() {
+        return this.customFunctions;
+    }
+
+    @Nullable
+    @Override
+    public Set<String> getTargetMethods() {
+        return this.customMethodsNames;
+    }
+
     @Override
     @NotNull
     public PsiElementVisitor buildVisitor(@NotNull final ProblemsHolder holder, boolean isOnTheFly) {
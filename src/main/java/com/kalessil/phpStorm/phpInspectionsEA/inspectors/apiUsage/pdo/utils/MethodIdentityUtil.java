@@ -9,8 +9,6 @@ import com.kalessil.phpStorm.phpInspectionsEA.utils.hierarhy.InterfacesExtractUt
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Set;
-
 /*
  * This file is part of the Php Inspections (EA Extended) package.
  *
@@ -37,14 +35,7 @@ final public class MethodIdentityUtil {
                 if (!result) {
                     final PhpClass clazz = method.getContainingClass();
                     if (clazz != null && !clazz.isTrait()) {
-                        final Set<PhpClass> parents = InterfacesExtractUtil.getCrawlInheritanceTree(clazz, true);
-                        for (final PhpClass parent : parents) {
-                            if (parent.getFQN().equals(classFqn)) {
-                                result = true;
-                                break;
-                            }
-                        }
-                        parents.clear();
+                        result = InterfacesExtractUtil.getCrawlInheritanceTreeFqns(clazz, true).contains(classFqn);
                     }
                 }
             }
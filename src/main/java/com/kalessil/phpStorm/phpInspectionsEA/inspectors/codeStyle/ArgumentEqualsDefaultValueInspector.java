@@ -6,21 +6,18 @@ import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.codeInspection.ProblemsHolder;
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.*;
-import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.psi.tree.IElementType;
-import com.intellij.util.indexing.FileBasedIndex;
 import com.jetbrains.php.lang.lexer.PhpTokenTypes;
 import com.jetbrains.php.lang.psi.elements.Function;
 import com.jetbrains.php.lang.psi.elements.FunctionReference;
 import com.jetbrains.php.lang.psi.elements.MethodReference;
-import com.jetbrains.php.lang.psi.elements.Parameter;
+import com.kalessil.phpStorm.phpInspectionsEA.indexers.CallableParameterMeta;
 import com.kalessil.phpStorm.phpInspectionsEA.indexers.NamedCallableParametersMetaIndexer;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpElementVisitor;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpInspection;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.OpenapiResolveUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.OpenapiTypesUtil;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 
 import java.util.HashSet;
 import java.util.List;
@@ -94,17 +91,15 @@ public class ArgumentEqualsDefaultValueInspector extends BasePhpInspection {
                         if (OpenapiTypesUtil.DEFAULT_VALUES.contains(valueType)) {
                             final PsiElement resolved = OpenapiResolveUtil.resolveReference(reference);
                             if (resolved instanceof Function) {
-                                final Function function      = (Function) resolved;
-                                final Parameter[] parameters = function.getParameters();
-                                if (arguments.length <= parameters.length) {
-                                    final FileBasedIndex projectIndex   = FileBasedIndex.getInstance();
-                                    final GlobalSearchScope searchScope = GlobalSearchScope.allScope(holder.getProject());
-                                    for (int index = Math.min(parameters.length, arguments.length) - 1; index >= 0; --index) {
-                                        final Parameter parameter = parameters[index];
+                                /* single index lookup per call: the value is the whole ordered parameters list */
+                                final List<CallableParameterMeta> parameters
+                                        = NamedCallableParametersMetaIndexer.getParameters(((Function) resolved).getFQN(), holder.getProject());
+                                if (parameters != null && arguments.length <= parameters.size()) {
+                                    for (int index = arguments.length - 1; index >= 0; --index) {
                                         final PsiElement argument = arguments[index];
-                                        final String defaultValue = this.getDefaultValue(function.getFQN(), parameter.getName(), projectIndex, searchScope);
+                                        final String defaultValue = parameters.get(index).getDefaultValue();
                                         /* false-positives: magic constants, unmatched values */
-                                        if (defaultValue == null || specialConstants.contains(defaultValue) || !defaultValue.equals(argument.getText())) {
+                                        if (defaultValue == null || defaultValue.isEmpty() || specialConstants.contains(defaultValue) || !defaultValue.equals(argument.getText())) {
                                             break;
                                         }
 
@@ -130,30 +125,6 @@ public class ArgumentEqualsDefaultValueInspector extends BasePhpInspection {
                     }
                 }
             }
-
-            @Nullable
-            private String getDefaultValue(
-                    @NotNull String functionFqn,
-                    @NotNull String parameterName,
-                    @NotNull FileBasedIndex index,
-                    @NotNull GlobalSearchScope scope
-            ) {
-                String result              = null;
-                final String key           = String.format("%s.%s", functionFqn, parameterName);
-                final List<String> details = index.getValues(NamedCallableParametersMetaIndexer.identity, key, scope);
-                if (details.size() == 1) {
-                    final String[] meta = details.get(0).split(";", 3); // the data format "ref:%s;var:%s;def:%s"
-                    if (meta.length == 3) {
-                        final String[] defaultMeta = meta[2].split(":", 2);
-                        if (defaultMeta.length == 2 && !defaultMeta[1].isEmpty()) {
-                            result = defaultMeta[1];
-                        }
-                    }
-                }
-                details.clear();
-
-                return result;
-            }
         };
     }
 
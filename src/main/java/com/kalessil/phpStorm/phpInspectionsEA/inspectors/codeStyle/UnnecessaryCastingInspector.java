@@ -99,15 +99,14 @@ public class UnnecessaryCastingInspector extends BasePhpInspection {
             }
 
             private boolean isNullCoalescingOnly(@NotNull PsiElement argument) {
-                boolean result                 = false;
-                final Set<PsiElement> variants = PossibleValuesDiscoveryUtil.discover(argument);
-                if (variants.size() == 1) {
-                    final PsiElement candidate = variants.iterator().next().getParent();
+                boolean result           = false;
+                final PsiElement variant = PossibleValuesDiscoveryUtil.discoverSingle(argument);
+                if (variant != null) {
+                    final PsiElement candidate = variant.getParent();
                     if (candidate instanceof BinaryExpression) {
                         result = ((BinaryExpression) candidate).getOperationType() == PhpTokenTypes.opCOALESCE;
                     }
                 }
-                variants.clear();
                 return result;
             }
 
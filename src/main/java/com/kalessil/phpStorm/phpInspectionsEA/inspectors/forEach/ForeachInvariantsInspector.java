@@ -9,7 +9,6 @@ import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.SmartPointerManager;
 import com.intellij.psi.SmartPsiElementPointer;
-import com.intellij.psi.util.PsiTreeUtil;
 import com.jetbrains.php.lang.lexer.PhpTokenTypes;
 import com.jetbrains.php.lang.psi.PhpPsiElementFactory;
 import com.jetbrains.php.lang.psi.elements.*;
@@ -75,20 +74,16 @@ public class ForeachInvariantsInspector extends BasePhpInspection {
             }
 
             private boolean isLimitFor(@NotNull PsiElement limit, @NotNull PsiElement container) {
-                boolean result               = false;
-                final Set<PsiElement> values = PossibleValuesDiscoveryUtil.discover(limit);
-                if (values.size() == 1) {
-                    final PsiElement value = values.iterator().next();
-                    if (OpenapiTypesUtil.isFunctionReference(value)) {
-                        final FunctionReference reference = (FunctionReference) value;
-                        final String functionName         = reference.getName();
-                        if (functionName != null && functionName.equals("count")) {
-                            final PsiElement[] arguments = reference.getParameters();
-                            result = arguments.length == 1 && OpenapiEquivalenceUtil.areEqual(arguments[0], container);
-                        }
+                boolean result         = false;
+                final PsiElement value = PossibleValuesDiscoveryUtil.discoverSingle(limit);
+                if (OpenapiTypesUtil.isFunctionReference(value)) {
+                    final FunctionReference reference = (FunctionReference) value;
+                    final String functionName         = reference.getName();
+                    if (functionName != null && functionName.equals("count")) {
+                        final PsiElement[] arguments = reference.getParameters();
+                        result = arguments.length == 1 && OpenapiEquivalenceUtil.areEqual(arguments[0], container);
                     }
                 }
-                values.clear();
                 return result;
             }
 
@@ -117,7 +112,7 @@ public class ForeachInvariantsInspector extends BasePhpInspection {
                                 }
 
                                 final PsiElement container    = arguments[0];
-                                final boolean isContainerUsed = PsiTreeUtil.findChildrenOfType(body, container.getClass()).stream()
+                                final boolean isContainerUsed = ChildrenIndexUtil.findChildrenOfType(body, container.getClass()).stream()
                                         .anyMatch(candidate -> OpenapiEquivalenceUtil.areEqual(candidate, container));
                                 if (!isContainerUsed) {
                                     holder.registerProblem(
@@ -170,7 +165,7 @@ public class ForeachInvariantsInspector extends BasePhpInspection {
 
             private PsiElement getContainerByIndex(@NotNull GroupStatement body, @NotNull PsiElement variable) {
                 final Map<String, PsiElement> containers = new HashMap<>();
-                for (final ArrayAccessExpression offset : PsiTreeUtil.findChildrenOfType(body, ArrayAccessExpression.class)) {
+                for (final ArrayAccessExpression offset : ChildrenIndexUtil.findChildrenOfType(body, ArrayAccessExpression.class)) {
                     final ArrayIndex index = offset.getIndex();
                     final PsiElement value = index == null ? null : index.getValue();
                     if (value instanceof Variable && OpenapiEquivalenceUtil.areEqual(variable, value)) {
@@ -294,7 +289,7 @@ public class ForeachInvariantsInspector extends BasePhpInspection {
             if (limit != null && scope != null) {
                 final GroupStatement body = ExpressionSemanticUtil.getGroupStatement(scope);
                 if (body != null) {
-                    final List<PsiElement> matches = PsiTreeUtil.findChildrenOfType(body, limit.getClass()).stream()
+                    final List<PsiElement> matches = ChildrenIndexUtil.findChildrenOfType(body, limit.getClass()).stream()
                             .filter(c -> OpenapiEquivalenceUtil.areEqual(c, limit))
                             .collect(Collectors.toList());
                     if (matches.size() == 1) {
@@ -318,7 +313,7 @@ public class ForeachInvariantsInspector extends BasePhpInspection {
             final Variable value   = loop.getValue();
             final String indexName = index == null ? null : index.getName();
             if (indexName != null && value != null) {
-                final long usagesCount = PsiTreeUtil.findChildrenOfType(body, Variable.class).stream()
+                final long usagesCount = ChildrenIndexUtil.findChildrenOfType(body, Variable.class).stream()
                         .filter(variable -> indexName.equals(variable.getName()))
                         .count();
                 if (usagesCount == 0) {
@@ -333,7 +328,7 @@ public class ForeachInvariantsInspector extends BasePhpInspection {
             @NotNull PsiElement index,
             @NotNull PsiElement replacement
         ) {
-            PsiTreeUtil.findChildrenOfType(body, ArrayAccessExpression.class).stream()
+            ChildrenIndexUtil.findChildrenOfType(body, ArrayAccessExpression.class).stream()
                 .filter(offset  -> {
                     final PsiElement parent = offset.getParent();
                     if (
@@ -7,9 +7,7 @@ import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.util.PsiTreeUtil;
 import com.jetbrains.php.PhpIndex;
-import com.jetbrains.php.codeInsight.controlFlow.PhpControlFlowUtil;
 import com.jetbrains.php.codeInsight.controlFlow.instructions.PhpAccessVariableInstruction;
-import com.jetbrains.php.codeInsight.controlFlow.instructions.PhpEntryPointInstruction;
 import com.jetbrains.php.lang.documentation.phpdoc.psi.PhpDocComment;
 import com.jetbrains.php.lang.documentation.phpdoc.psi.PhpDocVariable;
 import com.jetbrains.php.lang.documentation.phpdoc.psi.tags.PhpDocTag;
@@ -151,10 +149,8 @@ public class ForeachSourceInspector extends BasePhpInspection {
                 }
                 /* false-positives: mixed parameter type, parameter overridden before foreach */
                 if (types.size() > 1 && scope instanceof Function && container instanceof Variable) {
-                    final String parameter               = ((Variable) container).getName();
-                    final PhpEntryPointInstruction start = ((Function) scope).getControlFlow().getEntryPoint();
-                    final PhpAccessVariableInstruction[] uses
-                        = PhpControlFlowUtil.getFollowingVariableAccessInstructions(start, parameter, false);
+                    final String parameter                    = ((Variable) container).getName();
+                    final PhpAccessVariableInstruction[] uses = DefUseChainsUtil.getAccesses((Function) scope, parameter);
                     for (final PhpAccessVariableInstruction instruction : uses) {
                         final PhpPsiElement expression = instruction.getAnchor();
                         /* when matched itself, stop processing */
@@ -235,13 +231,9 @@ public class ForeachSourceInspector extends BasePhpInspection {
                         if (!classes.isEmpty()) {
                             boolean hasTraversable = false;
                             for (final PhpClass clazz : classes) {
-                                final Set<PhpClass> interfaces = InterfacesExtractUtil.getCrawlInheritanceTree(clazz, false);
-                                if (!interfaces.isEmpty()) {
-                                    hasTraversable = interfaces.stream().anyMatch(i -> i.getFQN().equals("\\Traversable"));
-                                    interfaces.clear();
-                                    if (hasTraversable) {
-                                        break;
-                                    }
+                                hasTraversable = InterfacesExtractUtil.getCrawlInheritanceTreeFqns(clazz, false).contains("\\Traversable");
+                                if (hasTraversable) {
+                                    break;
                                 }
                             }
                             classes.clear();
@@ -10,7 +10,8 @@ import com.jetbrains.php.lang.lexer.PhpTokenTypes;
 import com.jetbrains.php.lang.psi.PhpFile;
 import com.jetbrains.php.lang.psi.elements.*;
 import com.kalessil.phpStorm.phpInspectionsEA.inspectors.ifs.strategy.AndOrWordsUsageStrategy;
-import com.kalessil.phpStorm.phpInspectionsEA.inspectors.ifs.utils.ExpressionCostEstimateUtil;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.ifs.utils.ExpressionCostEstimator;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.ifs.utils.ExpressionCostTable;
 import com.kalessil.phpStorm.phpInspectionsEA.inspectors.ifs.utils.ExpressionsCouplingCheckUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpElementVisitor;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpInspection;
@@ -40,6 +41,7 @@ public class NotOptimalIfConditionsInspection extends BasePhpInspection {
     public boolean REPORT_DUPLICATE_CONDITIONS   = true;
     public boolean REPORT_INSTANCE_OF_FLAWS      = true;
     public boolean SUGGEST_OPTIMIZING_CONDITIONS = true;
+    public final List<String> CUSTOM_COSTS       = new ArrayList<>();
 
     private static final String messageInstanceOfComplementarity = "Probable bug: ensure this behaves properly with 'instanceof(...)' in this scenario.";
     private static final String messageInstanceOfAmbiguous       = "This condition is ambiguous and can be safely removed.";
@@ -82,6 +84,8 @@ public class NotOptimalIfConditionsInspection extends BasePhpInspection {
     @Override
     @NotNull
     public PsiElementVisitor buildVisitor(@NotNull final ProblemsHolder holder, boolean isOnTheFly) {
+        final ExpressionCostEstimator estimator = new ExpressionCostEstimator(ExpressionCostTable.create(functionsSet, CUSTOM_COSTS));
+
         return new BasePhpElementVisitor() {
             public void visitPhpIf(If ifStatement) {
                 final List<PsiElement> objAllConditions = new ArrayList<>();
@@ -473,7 +477,7 @@ public class NotOptimalIfConditionsInspection extends BasePhpInspection {
                 int intPreviousCost     = 0;
                 PsiElement previousCond = null;
                 for (final PsiElement condition : conditions) {
-                    int intLoopCurrentCost = ExpressionCostEstimateUtil.getExpressionCost(condition, functionsSet);
+                    int intLoopCurrentCost = estimator.getExpressionCost(condition);
 
                     if (
                         null != previousCond && intLoopCurrentCost < intPreviousCost &&
@@ -497,6 +501,14 @@ public class NotOptimalIfConditionsInspection extends BasePhpInspection {
             component.addCheckbox("Report instanceof usage flaws", REPORT_INSTANCE_OF_FLAWS, (isSelected) -> REPORT_INSTANCE_OF_FLAWS = isSelected);
             component.addCheckbox("Report literal and/or operators", REPORT_LITERAL_OPERATORS, (isSelected) -> REPORT_LITERAL_OPERATORS = isSelected);
             component.addCheckbox("Suggest optimizing conditions", SUGGEST_OPTIMIZING_CONDITIONS, (isSelected) -> SUGGEST_OPTIMIZING_CONDITIONS = isSelected);
+            component.addList(
+                "Custom execution costs:",
+                CUSTOM_COSTS,
+                null,
+                null,
+                "Adding custom execution cost...",
+                "Examples: 'in_array:3', '::getConfiguration:1' or '@method:6' (0-10 scale)"
+            );
         });
     }
 }
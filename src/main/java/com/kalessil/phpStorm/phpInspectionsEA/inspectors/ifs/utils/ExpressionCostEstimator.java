@@ -0,0 +1,182 @@
+package com.kalessil.phpStorm.phpInspectionsEA.inspectors.ifs.utils;
+
+import com.intellij.psi.PsiElement;
+import com.jetbrains.php.lang.psi.elements.*;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.ExpressionSemanticUtil;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.OpenapiTypesUtil;
+import org.apache.commons.lang.StringUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/**
+ * Execution costs estimation with memoized sub-expressions costs: an instance is meant to live
+ * as long as a visitor does (the PSI is not changing during a visit), not to be shared between visits.
+ */
+final public class ExpressionCostEstimator {
+    @NotNull
+    private final ExpressionCostTable costs;
+    private final Map<PsiElement, Integer> estimated = new HashMap<>();
+
+    public ExpressionCostEstimator(@NotNull ExpressionCostTable costs) {
+        this.costs = costs;
+    }
+
+    /**
+     * Estimates execution cost on basis 0-10 for simple parts. Complex constructions can be estimated
+     * to more than 10.
+     *
+     * @param objExpression to estimate for execution cost
+     * @return costs
+     */
+    public int getExpressionCost(@Nullable PsiElement objExpression) {
+        objExpression = ExpressionSemanticUtil.getExpressionTroughParenthesis(objExpression);
+        if (objExpression == null) {
+            return 0;
+        }
+
+        Integer cost = this.estimated.get(objExpression);
+        if (cost == null) {
+            cost = this.estimate(objExpression);
+            this.estimated.put(objExpression, cost);
+        }
+        return cost;
+    }
+
+    private int estimate(@NotNull PsiElement objExpression) {
+        if (
+            objExpression instanceof ConstantReference ||
+            objExpression instanceof StringLiteralExpression ||
+            objExpression instanceof ClassReference ||
+            objExpression instanceof Variable
+        ) {
+            return 0;
+        }
+
+        /* additional factor is due to hash-maps internals not considered */
+        if (objExpression instanceof ClassConstantReference) {
+            return 0;
+        }
+        if (objExpression instanceof FieldReference) {
+            /* $x->y and $x->y->z to have the same cost. Because of magic methods, which are slower. */
+            return this.getExpressionCost(((FieldReference) objExpression).getFirstPsiChild());
+        }
+
+        /* additional factor is due to hash-maps internals */
+        if (objExpression instanceof ArrayAccessExpression) {
+            final ArrayAccessExpression arrayAccess = (ArrayAccessExpression) objExpression;
+            final ArrayIndex arrayIndex             =  arrayAccess.getIndex();
+
+            int intOwnCosts = this.getExpressionCost(arrayAccess.getValue());
+            if (null != arrayIndex) {
+                intOwnCosts += this.getExpressionCost(arrayIndex.getValue());
+            }
+
+            /* default additional cost */
+            int additionalCosts = this.costs.getArrayAccessCost();
+
+            /* for pre-defined variables add no costs:
+                @see https://bitbucket.org/kalessil/phpinspectionsea/issues/239/non-optimal-if-conditions-incorrect */
+            if (arrayAccess.getValue() instanceof Variable) {
+                final String variableName = arrayAccess.getValue().getName();
+                if (
+                    !StringUtils.isEmpty(variableName) && variableName.charAt(0) == '_' &&
+                    ExpressionCostEstimateUtil.predefinedVars.contains(variableName)
+                ) {
+                    additionalCosts = 0;
+                }
+            }
+
+            return (additionalCosts + intOwnCosts);
+        }
+
+        /* empty counts too much as empty, so it still sensitive overhead, but not add any factor */
+        if (objExpression instanceof PhpEmpty) {
+            int intArgumentsCost = 0;
+            for (PsiElement objParameter : ((PhpEmpty) objExpression).getVariables()) {
+                intArgumentsCost += this.getExpressionCost(objParameter);
+            }
+
+            return intArgumentsCost;
+        }
+
+        /* isset brings no additional costs, often used for aggressive optimization */
+        if (objExpression instanceof PhpIsset) {
+            int intArgumentsCost = 0;
+            for (PsiElement objParameter : ((PhpIsset) objExpression).getVariables()) {
+                intArgumentsCost += this.getExpressionCost(objParameter);
+            }
+
+            return intArgumentsCost;
+        }
+
+        /* didn't see anu usages in if, but who knows */
+        if (objExpression instanceof PhpUnset) {
+            int intArgumentsCost = 0;
+            for (PsiElement objParameter : ((PhpUnset) objExpression).getArguments()) {
+                intArgumentsCost += this.getExpressionCost(objParameter);
+            }
+
+            return intArgumentsCost;
+        }
+
+        if (objExpression instanceof FunctionReference) {
+            int intArgumentsCost = 0;
+            for (PsiElement objParameter : ((FunctionReference) objExpression).getParameters()) {
+                intArgumentsCost += this.getExpressionCost(objParameter);
+            }
+
+            /* quite complex part - differentiate methods, functions and specially type-check functions */
+            if (objExpression instanceof MethodReference) {
+                final MethodReference reference = (MethodReference) objExpression;
+                intArgumentsCost += this.getExpressionCost(reference.getFirstPsiChild());
+                intArgumentsCost += this.costs.getMethodCallCost(reference.getName());
+            } else {
+                /* type-check functions and rest functions */
+                intArgumentsCost += this.costs.getFunctionCallCost(((FunctionReference) objExpression).getName());
+            }
+
+            return intArgumentsCost;
+        }
+
+        if (objExpression instanceof UnaryExpression) {
+            return this.getExpressionCost(((UnaryExpression) objExpression).getValue());
+        }
+
+        if (objExpression instanceof BinaryExpression) {
+            return
+                this.getExpressionCost(((BinaryExpression) objExpression).getRightOperand()) +
+                this.getExpressionCost(((BinaryExpression) objExpression).getLeftOperand());
+        }
+
+        if (objExpression instanceof ArrayCreationExpression) {
+            int intCosts = 0;
+            for (ArrayHashElement objEntry : ((ArrayCreationExpression) objExpression).getHashElements()) {
+                intCosts += this.getExpressionCost(objEntry.getKey());
+                intCosts += this.getExpressionCost(objEntry.getValue());
+            }
+            return intCosts;
+        }
+
+        if (OpenapiTypesUtil.isNumber(objExpression)) {
+            return 0;
+        }
+
+        if (objExpression instanceof AssignmentExpression) {
+            return this.getExpressionCost(((AssignmentExpression) objExpression).getValue());
+        }
+
+        return this.costs.getUnknownExpressionCost();
+    }
+}
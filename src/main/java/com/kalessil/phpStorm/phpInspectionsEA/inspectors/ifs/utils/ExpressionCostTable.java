@@ -0,0 +1,129 @@
+package com.kalessil.phpStorm.phpInspectionsEA.inspectors.ifs.utils;
+
+import com.intellij.openapi.diagnostic.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/**
+ * Execution costs used by ExpressionCostEstimateUtil, in the same 0-10 units as the built-in estimations.
+ *
+ * Costs are defined by `name:cost` (or `name,cost`) entries: `function_name`, `::methodName` (any class) or one of
+ * the generic weights (`@function`, `@method`, `@array-access`, `@unknown`). Entries are taken from the inspection
+ * settings and from the `-Dea.costs.profile=/path/to/costs.csv` VM option (e.g. normalized APM timings),
+ * the settings are taking precedence.
+ */
+final public class ExpressionCostTable {
+    private static final Logger LOG = Logger.getInstance(ExpressionCostTable.class);
+
+    public static final String FUNCTION_CALL = "@function";
+    public static final String METHOD_CALL   = "@method";
+    public static final String ARRAY_ACCESS  = "@array-access";
+    public static final String UNKNOWN       = "@unknown";
+
+    @Nullable
+    private static final String profilePath = System.getProperty("ea.costs.profile");
+
+    private final Map<String, Integer> costs = new HashMap<>();
+    private final int functionCallCost;
+    private final int methodCallCost;
+    private final int arrayAccessCost;
+    private final int unknownExpressionCost;
+
+    private ExpressionCostTable(@NotNull Collection<String> cheapFunctions, @NotNull Collection<String> configuration) {
+        for (final String function : cheapFunctions) {
+            this.costs.put(function.toLowerCase(), 0);
+        }
+        this.costs.putAll(ProfileHolder.profile);
+        this.costs.putAll(parse(configuration));
+
+        this.functionCallCost      = this.costs.getOrDefault(FUNCTION_CALL, 5);
+        this.methodCallCost        = this.costs.getOrDefault(METHOD_CALL, 5);
+        this.arrayAccessCost       = this.costs.getOrDefault(ARRAY_ACCESS, 1);
+        this.unknownExpressionCost = this.costs.getOrDefault(UNKNOWN, 10);
+    }
+
+    @NotNull
+    public static ExpressionCostTable create(@NotNull Collection<String> cheapFunctions, @NotNull Collection<String> configuration) {
+        return new ExpressionCostTable(cheapFunctions, configuration);
+    }
+
+    public int getFunctionCallCost(@Nullable String functionName) {
+        return functionName == null || functionName.isEmpty()
+                ? this.functionCallCost
+                : this.costs.getOrDefault(functionName.toLowerCase(), this.functionCallCost);
+    }
+
+    public int getMethodCallCost(@Nullable String methodName) {
+        return methodName == null || methodName.isEmpty()
+                ? this.methodCallCost
+                : this.costs.getOrDefault("::" + methodName.toLowerCase(), this.methodCallCost);
+    }
+
+    public int getArrayAccessCost() {
+        return this.arrayAccessCost;
+    }
+
+    public int getUnknownExpressionCost() {
+        return this.unknownExpressionCost;
+    }
+
+    /* malformed entries (e.g. CSV headers) are skipped, fractional costs are rounded */
+    @NotNull
+    static Map<String, Integer> parse(@NotNull Collection<String> entries) {
+        final Map<String, Integer> result = new HashMap<>();
+        for (final String entry : entries) {
+            final String definition = entry.trim();
+            if (definition.isEmpty() || definition.charAt(0) == '#') {
+                continue;
+            }
+            final int separator = Math.max(definition.lastIndexOf(':'), definition.lastIndexOf(','));
+            if (separator > 0 && separator < definition.length() - 1) {
+                final String name = definition.substring(0, separator).trim();
+                try {
+                    final double cost = Double.parseDouble(definition.substring(separator + 1).trim());
+                    if (!name.isEmpty() && cost >= 0) {
+                        result.put(name.toLowerCase(), (int) Math.round(cost));
+                    }
+                } catch (final NumberFormatException malformed) {
+                    /* not a cost definition */
+                }
+            }
+        }
+        return result;
+    }
+
+    /* the profile is loaded once, on the first table creation */
+    private static final class ProfileHolder {
+        private static final Map<String, Integer> profile = load();
+
+        @NotNull
+        private static Map<String, Integer> load() {
+            if (profilePath != null && !profilePath.isEmpty()) {
+                try {
+                    return parse(Files.readAllLines(Paths.get(profilePath), StandardCharsets.UTF_8));
+                } catch (final IOException error) {
+                    LOG.warn("Could not read the execution costs profile from " + profilePath, error);
+                }
+            }
+            return Collections.emptyMap();
+        }
+    }
+}
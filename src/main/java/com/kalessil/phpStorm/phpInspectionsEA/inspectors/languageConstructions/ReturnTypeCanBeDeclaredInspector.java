@@ -9,7 +9,6 @@ import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiWhiteSpace;
 import com.intellij.psi.util.PsiTreeUtil;
-import com.jetbrains.php.PhpIndex;
 import com.jetbrains.php.lang.documentation.phpdoc.psi.PhpDocComment;
 import com.jetbrains.php.lang.documentation.phpdoc.psi.PhpDocType;
 import com.jetbrains.php.lang.documentation.phpdoc.psi.tags.PhpDocReturnTag;
@@ -22,7 +21,7 @@ import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpInspection;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.PhpLanguageLevel;
 import com.kalessil.phpStorm.phpInspectionsEA.options.OptionsComponent;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.*;
-import com.kalessil.phpStorm.phpInspectionsEA.utils.hierarhy.InterfacesExtractUtil;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.hierarhy.MemberOverridesUtil;
 import org.jetbrains.annotations.NotNull;
 
 import javax.swing.*;
@@ -193,12 +192,7 @@ public class ReturnTypeCanBeDeclaredInspector extends BasePhpInspection {
                 boolean result       = false;
                 final PhpClass clazz = method.getContainingClass();
                 if (clazz != null && !clazz.isFinal() && !method.isFinal() && !method.getAccess().isPrivate()) {
-                    final String methodName = method.getName();
-                    result =
-                        InterfacesExtractUtil.getCrawlInheritanceTree(clazz, true).stream()
-                                .anyMatch(c -> c != clazz && c.findOwnMethodByName(methodName) != null) ||
-                        OpenapiResolveUtil.resolveChildClasses(clazz.getFQN(), PhpIndex.getInstance(holder.getProject())).stream()
-                                .anyMatch(c -> c.findOwnMethodByName(methodName) != null);
+                    result = MemberOverridesUtil.isOverridingAncestor(method) || MemberOverridesUtil.isOverriddenByDescendant(method);
                 }
                 return result;
             }
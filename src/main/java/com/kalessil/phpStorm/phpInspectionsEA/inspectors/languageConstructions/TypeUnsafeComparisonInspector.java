@@ -16,15 +16,15 @@ import com.jetbrains.php.lang.psi.elements.BinaryExpression;
 import com.jetbrains.php.lang.psi.elements.PhpClass;
 import com.jetbrains.php.lang.psi.elements.PhpTypedElement;
 import com.jetbrains.php.lang.psi.elements.StringLiteralExpression;
-import com.jetbrains.php.lang.psi.resolve.types.PhpType;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpElementVisitor;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpInspection;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.ExpressionSemanticUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.OpenapiResolveUtil;
-import com.kalessil.phpStorm.phpInspectionsEA.utils.Types;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.TypeSet;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.hierarhy.InterfacesExtractUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.strategy.ClassInStringContextStrategy;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -56,6 +56,12 @@ public class TypeUnsafeComparisonInspector extends BasePhpInspection {
         comparable.add("\\SplObjectStorage");
     }
 
+    private final static Set<IElementType> operators = new HashSet<>();
+    static {
+        operators.add(PhpTokenTypes.opEQUAL);
+        operators.add(PhpTokenTypes.opNOT_EQUAL);
+    }
+
     @NotNull
     @Override
     public String getShortName() {
@@ -68,6 +74,12 @@ public class TypeUnsafeComparisonInspector extends BasePhpInspection {
         return "Type unsafe comparison";
     }
 
+    @Nullable
+    @Override
+    public Set<IElementType> getTargetOperators() {
+        return operators;
+    }
+
     @Override
     @NotNull
     public PsiElementVisitor buildVisitor(@NotNull final ProblemsHolder holder, boolean isOnTheFly) {
@@ -129,17 +141,19 @@ public class TypeUnsafeComparisonInspector extends BasePhpInspection {
             private boolean isComparableObject(@NotNull PsiElement operand) {
                 if (operand instanceof PhpTypedElement) {
                     final Project project  = holder.getProject();
-                    final PhpType resolved = OpenapiResolveUtil.resolveType((PhpTypedElement) operand, project);
-                    if (resolved != null) {
+                    final TypeSet resolved = OpenapiResolveUtil.resolveTypeSet((PhpTypedElement) operand, project);
+                    if (resolved.hasClasses()) {
                         final PhpIndex index        = PhpIndex.getInstance(project);
                         final Set<PhpClass> classes = new HashSet<>();
-                        resolved.filterUnknown().getTypes().stream()
-                                .filter(t  -> t.charAt(0) == '\\')
-                                .forEach(t -> classes.addAll(OpenapiResolveUtil.resolveClassesAndInterfacesByFQN(Types.getType(t), index)));
+                        for (final String fqn : resolved.getClasses()) {
+                            if (fqn.charAt(0) == '\\') {
+                                classes.addAll(OpenapiResolveUtil.resolveClassesAndInterfacesByFQN(fqn, index));
+                            }
+                        }
                         for (final PhpClass clazz : classes) {
                             final boolean hasAny =
                                     comparable.contains(clazz.getFQN()) ||
-                                    InterfacesExtractUtil.getCrawlInheritanceTree(clazz, true).stream().anyMatch(c -> comparable.contains(c.getFQN()));
+                                    InterfacesExtractUtil.getCrawlInheritanceTreeFqns(clazz, true).stream().anyMatch(comparable::contains);
                             if (hasAny) {
                                 classes.clear();
                                 return true;
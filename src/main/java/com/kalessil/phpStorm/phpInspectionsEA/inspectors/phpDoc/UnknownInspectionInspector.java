@@ -1,21 +1,15 @@
 package com.kalessil.phpStorm.phpInspectionsEA.inspectors.phpDoc;
 
-import com.intellij.codeInspection.LocalInspectionEP;
 import com.intellij.codeInspection.ProblemsHolder;
-import com.intellij.ide.plugins.IdeaPluginDescriptor;
-import com.intellij.openapi.extensions.PluginId;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiElementVisitor;
 import com.jetbrains.php.lang.documentation.phpdoc.psi.tags.PhpDocTag;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.phpDoc.utils.InspectionsNamesRegistry;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpElementVisitor;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpInspection;
-import org.apache.commons.lang.ArrayUtils;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.*;
-import java.util.stream.Collectors;
-
-import static com.intellij.codeInspection.LocalInspectionEP.LOCAL_INSPECTION;
+import java.util.List;
 
 /*
  * This file is part of the Php Inspections (EA Extended) package.
@@ -29,24 +23,6 @@ import static com.intellij.codeInspection.LocalInspectionEP.LOCAL_INSPECTION;
 public class UnknownInspectionInspector extends BasePhpInspection {
     private static final String message = "Unknown inspection: %s.";
 
-    final private static Set<String> inspectionsNames;
-    private static int minInspectionNameLength;
-    static {
-        inspectionsNames = collectPhpRelatedInspections();
-        inspectionsNames.add("phpinspectionsea");
-        inspectionsNames.add("SpellCheckingInspection");
-        inspectionsNames.add("SqlNoDataSourceInspection");
-
-        /* shortest length is a threshold for separating inspections and comments mixed in */
-        minInspectionNameLength = Integer.MAX_VALUE;
-        for (final String shortName : inspectionsNames) {
-            final int nameLength = shortName.length();
-            if (nameLength < minInspectionNameLength) {
-                minInspectionNameLength = nameLength;
-            }
-        }
-    }
-
     @NotNull
     @Override
     public String getShortName() {
@@ -66,35 +42,15 @@ public class UnknownInspectionInspector extends BasePhpInspection {
             @Override
             public void visitPhpDocTag(@NotNull PhpDocTag tag) {
                 if (tag.getName().equals("@noinspection")) {
-                    final String[] candidates = tag.getTagValue().replaceAll("[^\\p{L}\\p{Nd}]+", " ").trim().split("\\s+");
-                    if (candidates.length > 0) {
-                        final List<String> inspections = Arrays.stream(candidates)
-                                .filter(candidate -> candidate.length() >= minInspectionNameLength && !inspectionsNames.contains(candidate))
-                                .collect(Collectors.toList());
-                        if (!inspections.isEmpty()) {
-                            final PsiElement target = tag.getFirstChild();
-                            if (target != null) {
-                                holder.registerProblem(target, String.format(message, String.join(", ", inspections)));
-                            }
-                            inspections.clear();
+                    final List<String> inspections = InspectionsNamesRegistry.getInstance().findUnknown(tag.getTagValue());
+                    if (!inspections.isEmpty()) {
+                        final PsiElement target = tag.getFirstChild();
+                        if (target != null) {
+                            holder.registerProblem(target, String.format(message, String.join(", ", inspections)));
                         }
                     }
                 }
             }
         };
     }
-
-    private static Set<String> collectPhpRelatedInspections() {
-        final Set<String> names = new HashSet<>();
-
-        final PluginId phpPlugin = PluginId.getId("com.jetbrains.php");
-        for (final LocalInspectionEP inspection : LOCAL_INSPECTION.getExtensions()) {
-            final IdeaPluginDescriptor plugin = (IdeaPluginDescriptor) inspection.getPluginDescriptor();
-            if (phpPlugin.equals(plugin.getPluginId()) || ArrayUtils.contains(plugin.getDependentPluginIds(), phpPlugin)) {
-                names.add(inspection.getShortName());
-            }
-        }
-
-        return names;
-    }
 }
@@ -0,0 +1,137 @@
+package com.kalessil.phpStorm.phpInspectionsEA.inspectors.phpDoc.utils;
+
+import com.intellij.codeInspection.LocalInspectionEP;
+import com.intellij.ide.plugins.IdeaPluginDescriptor;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.extensions.ExtensionPointListener;
+import com.intellij.openapi.extensions.Extensions;
+import com.intellij.openapi.extensions.PluginDescriptor;
+import com.intellij.openapi.extensions.PluginId;
+import org.apache.commons.lang.ArrayUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.intellij.codeInspection.LocalInspectionEP.LOCAL_INSPECTION;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/**
+ * Short names of PHP-related inspections (registered by PHP plugin and plugins depending on it), as they are used
+ * in `@noinspection` tags. The names are collected on the first request, not when classes are loaded, and collected
+ * again after inspections extensions were added or removed (plugins installation/removal).
+ */
+final public class InspectionsNamesRegistry {
+    @Nullable
+    private volatile Names names;
+
+    public InspectionsNamesRegistry() {
+        Extensions.getRootArea().getExtensionPoint(LOCAL_INSPECTION).addExtensionPointListener(
+                new ExtensionPointListener<LocalInspectionEP>() {
+                    @Override
+                    public void extensionAdded(@NotNull LocalInspectionEP extension, @Nullable PluginDescriptor plugin) {
+                        names = null;
+                    }
+
+                    @Override
+                    public void extensionRemoved(@NotNull LocalInspectionEP extension, @Nullable PluginDescriptor plugin) {
+                        names = null;
+                    }
+                }
+        );
+    }
+
+    @NotNull
+    public static InspectionsNamesRegistry getInstance() {
+        return ServiceManager.getService(InspectionsNamesRegistry.class);
+    }
+
+    /* unknown names in the tag value: names are sequences of letters and digits, the rest is separators or comments */
+    @NotNull
+    public List<String> findUnknown(@NotNull String tagValue) {
+        final Names known   = this.getNames();
+        final int length    = tagValue.length();
+        List<String> result = null;
+        int start           = -1;
+        int index           = 0;
+        while (index <= length) {
+            final int codePoint = index < length ? tagValue.codePointAt(index) : ' ';
+            if (Character.isLetter(codePoint) || Character.isDigit(codePoint)) {
+                if (start == -1) {
+                    start = index;
+                }
+            } else if (start != -1) {
+                /* shorter candidates are considered as comments mixed in */
+                if (index - start >= known.minLength) {
+                    final String candidate = tagValue.substring(start, index);
+                    if (!known.shortNames.contains(candidate)) {
+                        if (result == null) {
+                            result = new ArrayList<>();
+                        }
+                        result.add(candidate);
+                    }
+                }
+                start = -1;
+            }
+            index += index < length ? Character.charCount(codePoint) : 1;
+        }
+        return result == null ? Collections.emptyList() : result;
+    }
+
+    @NotNull
+    private Names getNames() {
+        Names current = this.names;
+        if (current == null) {
+            current    = new Names(collectPhpRelatedInspections());
+            this.names = current;
+        }
+        return current;
+    }
+
+    @NotNull
+    private static Set<String> collectPhpRelatedInspections() {
+        final Set<String> names = new HashSet<>();
+        names.add("phpinspectionsea");
+        names.add("SpellCheckingInspection");
+        names.add("SqlNoDataSourceInspection");
+
+        final PluginId phpPlugin = PluginId.getId("com.jetbrains.php");
+        for (final LocalInspectionEP inspection : LOCAL_INSPECTION.getExtensions()) {
+            final IdeaPluginDescriptor plugin = (IdeaPluginDescriptor) inspection.getPluginDescriptor();
+            if (phpPlugin.equals(plugin.getPluginId()) || ArrayUtils.contains(plugin.getDependentPluginIds(), phpPlugin)) {
+                names.add(inspection.getShortName());
+            }
+        }
+
+        return names;
+    }
+
+    private static final class Names {
+        @NotNull
+        private final Set<String> shortNames;
+        private final int minLength;
+
+        private Names(@NotNull Set<String> shortNames) {
+            /* shortest length is a threshold for separating inspections and comments mixed in */
+            int minLength = Integer.MAX_VALUE;
+            for (final String shortName : shortNames) {
+                minLength = Math.min(minLength, shortName.length());
+            }
+
+            this.shortNames = shortNames;
+            this.minLength  = minLength;
+        }
+    }
+}
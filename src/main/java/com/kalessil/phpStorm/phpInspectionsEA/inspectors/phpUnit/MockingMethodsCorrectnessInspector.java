@@ -18,7 +18,6 @@ import com.kalessil.phpStorm.phpInspectionsEA.utils.PossibleValuesDiscoveryUtil;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Optional;
-import java.util.Set;
 
 /*
  * This file is part of the Php Inspections (EA Extended) package.
@@ -86,10 +85,9 @@ public class MockingMethodsCorrectnessInspector extends BasePhpInspection {
             }
 
             private void checkIfMockHasMethod(@NotNull PsiElement mock, @NotNull StringLiteralExpression methodName) {
-                final Set<PsiElement> variants = PossibleValuesDiscoveryUtil.discover(mock);
-                if (variants.size() == 1) {
+                final PsiElement source = PossibleValuesDiscoveryUtil.discoverSingle(mock);
+                if (source != null) {
                     /* Handle following construct ->getMockBuilder(::class)->getMock() +  */
-                    final PsiElement source = variants.iterator().next();
                     if (source instanceof MethodReference && "getMock".equals(((MethodReference) source).getName())) {
                         final Optional<MethodReference> builder = PsiTreeUtil.findChildrenOfType(source, MethodReference.class).stream()
                                 .filter(reference -> "getMockBuilder".equals(reference.getName()))
@@ -132,7 +130,6 @@ public class MockingMethodsCorrectnessInspector extends BasePhpInspection {
                         }
                     }
                 }
-                variants.clear();
             }
         };
     }
@@ -30,8 +30,10 @@ import javax.swing.*;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-import java.util.function.BooleanSupplier;
+import java.util.Map;
+import java.util.function.BiPredicate;
 
 /*
  * This file is part of the Php Inspections (EA Extended) package.
@@ -72,6 +74,8 @@ public class PhpUnitTestsInspector extends BasePhpInspection {
     @NotNull
     public PsiElementVisitor buildVisitor(@NotNull final ProblemsHolder holder, boolean isOnTheFly) {
         return new BasePhpElementVisitor() {
+            private final Map<String, List<BiPredicate<String, MethodReference>>> assertStrategies = buildAssertStrategies(holder);
+
             @Override
             public void visitPhpMethod(@NotNull Method method) {
                 final PhpClass clazz       = method.getContainingClass();
@@ -194,32 +198,13 @@ public class PhpUnitTestsInspector extends BasePhpInspection {
             public void visitPhpMethodReference(@NotNull MethodReference reference) {
                 final String methodName = reference.getName();
                 if (methodName != null) {
-                    if (methodName.startsWith("assert") && !methodName.equals("assert")) {
-                        final List<BooleanSupplier> callbacks = new ArrayList<>();
-                        callbacks.add(() -> AssertBoolInvertedStrategy.apply(methodName, reference, holder));
-                        callbacks.add(() -> AssertBoolOfComparisonStrategy.apply(methodName, reference, holder));
-                        if (SUGGEST_TO_USE_ASSERTSAME) {
-                            callbacks.add(() -> AssertSameStrategy.apply(methodName, reference, holder));
-                        }
-                        if (PROMOTE_PHPUNIT_API) {
-                            callbacks.add(() -> AssertEmptyStrategy.apply(methodName, reference, holder));
-                            callbacks.add(() -> AssertConstantStrategy.apply(methodName, reference, holder));
-                            callbacks.add(() -> AssertInternalTypeStrategy.apply(methodName, reference, holder));
-                            callbacks.add(() -> AssertInstanceOfStrategy.apply(methodName, reference, holder));
-                            callbacks.add(() -> AssertResourceExistsStrategy.apply(methodName, reference, holder));
-                            callbacks.add(() -> AssertCountStrategy.apply(methodName, reference, holder));
-                            callbacks.add(() -> AssertContainsStrategy.apply(methodName, reference, holder));
-                            callbacks.add(() -> AssertRegexStrategy.apply(methodName, reference, holder));
-                            /* AssertFileEqualsStrategy and AssertStringEqualsFileStrategy order is important */
-                            callbacks.add(() -> AssertFileEqualsStrategy.apply(methodName, reference, holder));
-                            callbacks.add(() -> AssertStringEqualsFileStrategy.apply(methodName, reference, holder));
-                        }
-                        for (final BooleanSupplier callback : callbacks) {
-                            if (callback.getAsBoolean()) {
+                    final List<BiPredicate<String, MethodReference>> strategies = this.assertStrategies.get(methodName);
+                    if (strategies != null) {
+                        for (int index = 0, size = strategies.size(); index < size; ++index) {
+                            if (strategies.get(index).test(methodName, reference)) {
                                 break;
                             }
                         }
-                        callbacks.clear();
                     } else if (methodName.equals("expects")) {
                         if (PROMOTE_MOCKING_ONCE) {
                             ExpectsOnceStrategy.apply(methodName, reference, holder);
@@ -234,6 +219,49 @@ public class PhpUnitTestsInspector extends BasePhpInspection {
         };
     }
 
+    /* strategies are indexed by assertions they are handling, registration order is the reporting priority */
+    @NotNull
+    private Map<String, List<BiPredicate<String, MethodReference>>> buildAssertStrategies(@NotNull ProblemsHolder holder) {
+        final Map<String, List<BiPredicate<String, MethodReference>>> strategies = new HashMap<>();
+        final String[] booleanAsserts  = {"assertTrue", "assertFalse", "assertNotTrue", "assertNotFalse"};
+        final String[] equalityAsserts = {"assertSame", "assertNotSame", "assertEquals", "assertNotEquals"};
+
+        register(strategies, (name, reference) -> AssertBoolInvertedStrategy.apply(name, reference, holder), "assertTrue", "assertFalse");
+        register(strategies, (name, reference) -> AssertBoolOfComparisonStrategy.apply(name, reference, holder), booleanAsserts);
+        if (SUGGEST_TO_USE_ASSERTSAME) {
+            register(strategies, (name, reference) -> AssertSameStrategy.apply(name, reference, holder), "assertEquals", "assertNotEquals");
+        }
+        if (PROMOTE_PHPUNIT_API) {
+            register(strategies, (name, reference) -> AssertEmptyStrategy.apply(name, reference, holder), booleanAsserts);
+            register(strategies, (name, reference) -> AssertConstantStrategy.apply(name, reference, holder), "assertSame", "assertNotSame");
+            register(strategies, (name, reference) -> AssertInternalTypeStrategy.apply(name, reference, holder), booleanAsserts);
+            final BiPredicate<String, MethodReference> instanceOf = (name, reference) -> AssertInstanceOfStrategy.apply(name, reference, holder);
+            register(strategies, instanceOf, booleanAsserts);
+            register(strategies, instanceOf, equalityAsserts);
+            register(strategies, (name, reference) -> AssertResourceExistsStrategy.apply(name, reference, holder), booleanAsserts);
+            register(strategies, (name, reference) -> AssertCountStrategy.apply(name, reference, holder), equalityAsserts);
+            register(strategies, (name, reference) -> AssertContainsStrategy.apply(name, reference, holder), booleanAsserts);
+            final BiPredicate<String, MethodReference> regex = (name, reference) -> AssertRegexStrategy.apply(name, reference, holder);
+            register(strategies, regex, "assertTrue", "assertFalse");
+            register(strategies, regex, equalityAsserts);
+            /* AssertFileEqualsStrategy and AssertStringEqualsFileStrategy order is important */
+            register(strategies, (name, reference) -> AssertFileEqualsStrategy.apply(name, reference, holder), "assertSame", "assertEquals", "assertStringEqualsFile");
+            register(strategies, (name, reference) -> AssertStringEqualsFileStrategy.apply(name, reference, holder), "assertSame", "assertEquals");
+        }
+
+        return strategies;
+    }
+
+    private static void register(
+            @NotNull Map<String, List<BiPredicate<String, MethodReference>>> strategies,
+            @NotNull BiPredicate<String, MethodReference> strategy,
+            @NotNull String... assertions
+    ) {
+        for (final String assertion : assertions) {
+            strategies.computeIfAbsent(assertion, key -> new ArrayList<>()).add(strategy);
+        }
+    }
+
     public JComponent createOptionsPanel() {
         return OptionsComponent.create((component) -> {
             component.addCheckbox("Promote dedicated asserts", PROMOTE_PHPUNIT_API, (isSelected) -> PROMOTE_PHPUNIT_API = isSelected);
@@ -21,7 +21,6 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Set;
 
 /*
  * This file is part of the Php Inspections (EA Extended) package.
@@ -101,45 +100,41 @@ public class UnnecessaryAssertionInspector extends BasePhpInspection {
                     final int position           = targetPositions.get(methodName);
                     final PsiElement[] arguments = reference.getParameters();
                     if (arguments.length >= position + 1) {
-                        final Set<PsiElement> values = PossibleValuesDiscoveryUtil.discover(arguments[position]);
-                        if (values.size() == 1) {
-                            final PsiElement candidate = values.iterator().next();
-                            if (candidate instanceof FunctionReference) {
-                                final FunctionReference call = (FunctionReference) candidate;
-                                final PsiElement function    = OpenapiResolveUtil.resolveReference(call);
-                                if (function instanceof Function) {
-                                    final PsiElement returnType = OpenapiElementsUtil.getReturnType((Function) function);
-                                    if (returnType != null) {
-                                        final PhpType resolved = OpenapiResolveUtil.resolveType(call, project);
-                                        if (resolved != null && resolved.size() == 1 && !resolved.hasUnknown()) {
-                                            /* find out what is expected */
-                                            String expectedType = targetType.get(methodName);
-                                            if (methodName.equals("assertInstanceOf")) {
-                                                if (arguments[0] instanceof ClassConstantReference) {
-                                                    final ClassConstantReference expectation = (ClassConstantReference) arguments[0];
-                                                    final PsiElement base                    = expectation.getClassReference();
-                                                    if (base instanceof ClassReference) {
-                                                        final PsiElement clazz = OpenapiResolveUtil.resolveReference((ClassReference) base);
-                                                        if (clazz instanceof PhpClass) {
-                                                            expectedType = ((PhpClass) clazz).getFQN();
-                                                        }
+                        final PsiElement candidate = PossibleValuesDiscoveryUtil.discoverSingle(arguments[position]);
+                        if (candidate instanceof FunctionReference) {
+                            final FunctionReference call = (FunctionReference) candidate;
+                            final PsiElement function    = OpenapiResolveUtil.resolveReference(call);
+                            if (function instanceof Function) {
+                                final PsiElement returnType = OpenapiElementsUtil.getReturnType((Function) function);
+                                if (returnType != null) {
+                                    final PhpType resolved = OpenapiResolveUtil.resolveType(call, project);
+                                    if (resolved != null && resolved.size() == 1 && !resolved.hasUnknown()) {
+                                        /* find out what is expected */
+                                        String expectedType = targetType.get(methodName);
+                                        if (methodName.equals("assertInstanceOf")) {
+                                            if (arguments[0] instanceof ClassConstantReference) {
+                                                final ClassConstantReference expectation = (ClassConstantReference) arguments[0];
+                                                final PsiElement base                    = expectation.getClassReference();
+                                                if (base instanceof ClassReference) {
+                                                    final PsiElement clazz = OpenapiResolveUtil.resolveReference((ClassReference) base);
+                                                    if (clazz instanceof PhpClass) {
+                                                        expectedType = ((PhpClass) clazz).getFQN();
                                                     }
                                                 }
                                             }
-                                            /* match arguments types */
-                                            final String expected = expectedType;
-                                            if (expected == null) {
-                                                holder.registerProblem(reference, messageReturnType);
-                                            } else if (resolved.getTypes().stream().anyMatch(t -> Types.getType(t).equals(expected))) {
-                                                holder.registerProblem(reference, messageReturnType);
-                                            }
-
                                         }
+                                        /* match arguments types */
+                                        final String expected = expectedType;
+                                        if (expected == null) {
+                                            holder.registerProblem(reference, messageReturnType);
+                                        } else if (resolved.getTypes().stream().anyMatch(t -> Types.getType(t).equals(expected))) {
+                                            holder.registerProblem(reference, messageReturnType);
+                                        }
+
                                     }
                                 }
                             }
                         }
-                        values.clear();
                     }
                 }
             }
@@ -7,17 +7,23 @@ import com.jetbrains.php.lang.psi.elements.*;
 import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.apiUsage.FunctionCallCheckStrategy;
 import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.apiUsage.PlainApiUseCheckStrategy;
 import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.classesStrategy.ShortClassDefinitionStrategy;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.explosiveStrategy.CatastrophicBacktrackingCheckStrategy;
 import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.explosiveStrategy.GreedyCharactersSetCheckStrategy;
 import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.explosiveStrategy.QuantifierCompoundsQuantifierCheckStrategy;
 import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.modifiersStrategy.*;
 import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.optimizeStrategy.AmbiguousAnythingTrimCheckStrategy;
 import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.optimizeStrategy.SequentialClassesCollapseCheckStrategy;
 import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.optimizeStrategy.UnnecessaryCaseManipulationCheckStrategy;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.RegexNode;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.RegexParser;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpElementVisitor;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpInspection;
+import com.kalessil.phpStorm.phpInspectionsEA.options.OptionsComponent;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.ExpressionSemanticUtil;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import javax.swing.*;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -35,6 +41,9 @@ import java.util.regex.Pattern;
  */
 
 public class NotOptimalRegularExpressionsInspector extends BasePhpInspection {
+    // Inspection options.
+    public boolean REPORT_POLYNOMIAL_BACKTRACKING = false;
+
     private static final String messageNoDelimiters = "The regular expression delimiters are missing (it should be e.g. '/<regex-here>/').";
 
     @NotNull
@@ -70,6 +79,12 @@ public class NotOptimalRegularExpressionsInspector extends BasePhpInspection {
         matchers.add(Pattern.compile("^(\\[)(.*)(\\])([a-zA-Z]+)?$", Pattern.DOTALL));
     }
 
+    @Nullable
+    @Override
+    public Set<String> getTargetFunctions() {
+        return functions;
+    }
+
     @Override
     @NotNull
     public PsiElementVisitor buildVisitor(@NotNull final ProblemsHolder holder, boolean isOnTheFly) {
@@ -138,6 +153,9 @@ public class NotOptimalRegularExpressionsInspector extends BasePhpInspection {
             }
 
             private void checkRegex(String functionName, FunctionReference reference, StringLiteralExpression target, String regex, String modifiers) {
+                /* parsed once (and cached) for structural checks, raw text is used by text-based strategies */
+                final RegexNode tree = RegexParser.parse(RegexParser.unescape(regex, target.isSingleQuote()));
+
                 /* Modifiers validity (done):
                  * + /no-az-chars/i => /no-az-chars/
                  * + /no-dot-char/s => /no-dot-char/
@@ -148,8 +166,8 @@ public class NotOptimalRegularExpressionsInspector extends BasePhpInspection {
                  */
                 DeprecatedModifiersCheckStrategy.apply(modifiers, target, holder);
                 AllowedModifierCheckStrategy.apply(functionName, modifiers, target, holder);
-                UselessDollarEndOnlyModifierStrategy.apply(modifiers, regex, target, holder);
-                UselessDotAllModifierCheckStrategy.apply(modifiers, regex, target, holder);
+                UselessDollarEndOnlyModifierStrategy.apply(modifiers, tree, target, holder);
+                UselessDotAllModifierCheckStrategy.apply(modifiers, tree, target, holder);
                 UselessIgnoreCaseModifierCheckStrategy.apply(modifiers, regex, target, holder);
 
                 /* Classes shortening (done):
@@ -175,18 +193,21 @@ public class NotOptimalRegularExpressionsInspector extends BasePhpInspection {
                  *
                  * + greedy character classes [\d\w][\D\W]
                  * + dangerous (a+)+ pattern
+                 * + ambiguous loops: (a|a)*, (a?b?)*, \d+\d+ (the last one is polynomial, reported optionally)
                  */
-                SequentialClassesCollapseCheckStrategy.apply(regex, target, holder);
-                AmbiguousAnythingTrimCheckStrategy.apply(functionName, reference, regex, target, holder);
-                GreedyCharactersSetCheckStrategy.apply(regex, target, holder);
-                QuantifierCompoundsQuantifierCheckStrategy.apply(regex, target, holder);
+                SequentialClassesCollapseCheckStrategy.apply(tree, target, holder);
+                AmbiguousAnythingTrimCheckStrategy.apply(functionName, reference, tree, target, holder);
+                GreedyCharactersSetCheckStrategy.apply(tree, target, holder);
+                if (!QuantifierCompoundsQuantifierCheckStrategy.apply(tree, target, holder)) {
+                    CatastrophicBacktrackingCheckStrategy.apply(modifiers, tree, REPORT_POLYNOMIAL_BACKTRACKING, target, holder);
+                }
 
                 /*
                  * Probably bugs:
                  *  - nested tags check without /s
                  *  - unicode characters without /u
                  */
-                MissingDotAllCheckStrategy.apply(modifiers, regex, target, holder);
+                MissingDotAllCheckStrategy.apply(modifiers, tree, target, holder);
                 MissingUnicodeModifierStrategy.apply(modifiers, regex, target, holder);
             }
 
@@ -207,4 +228,10 @@ public class NotOptimalRegularExpressionsInspector extends BasePhpInspection {
             }
         };
     }
+
+    public JComponent createOptionsPanel() {
+        return OptionsComponent.create((component) ->
+            component.addCheckbox("Report polynomial backtracking", REPORT_POLYNOMIAL_BACKTRACKING, (isSelected) -> REPORT_POLYNOMIAL_BACKTRACKING = isSelected)
+        );
+    }
 }
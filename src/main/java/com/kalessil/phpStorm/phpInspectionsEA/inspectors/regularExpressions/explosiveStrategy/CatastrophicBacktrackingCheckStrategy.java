@@ -0,0 +1,43 @@
+package com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.explosiveStrategy;
+
+import com.intellij.codeInspection.ProblemHighlightType;
+import com.intellij.codeInspection.ProblemsHolder;
+import com.jetbrains.php.lang.psi.elements.StringLiteralExpression;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.BacktrackingAnalyzer;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.RegexNode;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+final public class CatastrophicBacktrackingCheckStrategy {
+    private static final String messageExponential = "'%s' can cause catastrophic backtracking (ReDoS, Regular Expression Denial of Service).";
+    private static final String messagePolynomial  = "'%s' can cause polynomial backtracking on long inputs (ReDoS, Regular Expression Denial of Service).";
+
+    static public void apply(
+            @Nullable String modifiers,
+            @NotNull RegexNode regex,
+            boolean checkPolynomial,
+            @NotNull StringLiteralExpression target,
+            @NotNull ProblemsHolder holder
+    ) {
+        final BacktrackingAnalyzer.Result result = BacktrackingAnalyzer.analyze(regex, modifiers, checkPolynomial);
+        switch (result.getComplexity()) {
+            case EXPONENTIAL:
+                holder.registerProblem(target, String.format(messageExponential, result.getFragment()), ProblemHighlightType.GENERIC_ERROR);
+                break;
+            case POLYNOMIAL:
+                holder.registerProblem(target, String.format(messagePolynomial, result.getFragment()), ProblemHighlightType.WEAK_WARNING);
+                break;
+            default:
+                break;
+        }
+    }
+}
@@ -3,11 +3,9 @@ package com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.exp
 import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.codeInspection.ProblemsHolder;
 import com.jetbrains.php.lang.psi.elements.StringLiteralExpression;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.RegexNode;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 /*
  * This file is part of the Php Inspections (EA Extended) package.
  *
@@ -20,27 +18,27 @@ import java.util.regex.Pattern;
 final public class GreedyCharactersSetCheckStrategy {
     private static final String messagePattern = "[%s] is 'greedy'. Please remove %s as it's a subset of %s.";
 
-    final static private Pattern regexGreedyCharacterSet;
-    static {
-        // Original regex: \[([^\[\]]+)\]
-        regexGreedyCharacterSet = Pattern.compile("\\[([^\\[\\]]+)\\]");
-    }
-
-    static public void apply(@NotNull String pattern, @NotNull StringLiteralExpression target, @NotNull ProblemsHolder holder) {
-        if (!pattern.isEmpty() && pattern.indexOf('[') >= 0) {
-            final Matcher regexMatcher = regexGreedyCharacterSet.matcher(pattern);
-            while (regexMatcher.find()) {
-                final String set = regexMatcher.group(1);
-                if (set.contains("\\w") && set.contains("\\d")) {
+    static public void apply(@NotNull RegexNode regex, @NotNull StringLiteralExpression target, @NotNull ProblemsHolder holder) {
+        for (final RegexNode set : regex.findAll(RegexNode.Type.CLASS)) {
+            /* sets with brackets inside (e.g. [\d\s\[\]] or posix classes) are not analyzed */
+            final String text = set.getText();
+            if (text.length() > 2 && text.indexOf('[', 1) == -1 && text.indexOf(']') == text.length() - 1) {
+                final StringBuilder escapes = new StringBuilder();
+                for (final RegexNode item : set.getChildren()) {
+                    if (item.is(RegexNode.Type.ESCAPE)) {
+                        escapes.append(item.getValue());
+                    }
+                }
+                if (escapes.indexOf("w") != -1 && escapes.indexOf("d") != -1) {
                     holder.registerProblem(
                             target,
-                            String.format(messagePattern, set, "\\d", "\\w"),
+                            String.format(messagePattern, text.substring(1, text.length() - 1), "\\d", "\\w"),
                             ProblemHighlightType.GENERIC_ERROR
                     );
-                } else if (set.contains("\\W") && set.contains("\\D")) {
+                } else if (escapes.indexOf("W") != -1 && escapes.indexOf("D") != -1) {
                     holder.registerProblem(
                             target,
-                            String.format(messagePattern, set, "\\D", "\\W"),
+                            String.format(messagePattern, text.substring(1, text.length() - 1), "\\D", "\\W"),
                             ProblemHighlightType.GENERIC_ERROR
                     );
                 }
@@ -3,11 +3,9 @@ package com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.exp
 import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.codeInspection.ProblemsHolder;
 import com.jetbrains.php.lang.psi.elements.StringLiteralExpression;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.RegexNode;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 /*
  * Recognize (A+)* pattern.
  * See details here: http://www.rexegg.com/regex-explosive-quantifiers.html#compound
@@ -35,45 +33,79 @@ import java.util.regex.Pattern;
 final public class QuantifierCompoundsQuantifierCheckStrategy {
     private static final String messagePattern = "( %s )%s might be exploited (ReDoS, Regular Expression Denial of Service).";
 
-    final static private Pattern regexGroupsToSkip;
-    final static private Pattern regexOuterGroup;
-    static {
-        // Original regex: 	([^\\])(\([^()]*[^\\]\))([^+*])
-        regexGroupsToSkip = Pattern.compile("([^\\\\])(\\([^()]*[^\\\\]\\))([^+*])");
-        // Original regex: 	(^|[^>])\(([^()]+)\)([+*])([^+]|$)
-        regexOuterGroup   = Pattern.compile("(^|[^>])\\(([^()]+)\\)([+*])([^+]|$)");
+    /* returns true if anything was reported */
+    static public boolean apply(@NotNull RegexNode regex, @NotNull StringLiteralExpression target, @NotNull ProblemsHolder holder) {
+        return check(regex, false, target, holder);
     }
 
-    static public void apply(@NotNull String pattern, @NotNull StringLiteralExpression target, @NotNull ProblemsHolder holder) {
-        if (!pattern.isEmpty()) {
-            /* get rid of un-captured groups markers */
-            String normalizedPattern = pattern.replaceAll("\\(\\?:", "(");
-            /* get rid of nested groups */
-            while (regexGroupsToSkip.matcher(normalizedPattern).find()) {
-                final Matcher matcher = regexGroupsToSkip.matcher(normalizedPattern);
-                if (matcher.find()) {
-                    final String fragment = matcher.group(0);
-                    if (fragment != null) {
-                        normalizedPattern = normalizedPattern.replace(fragment, matcher.group(1) + matcher.group(3));
-                    }
+    private static boolean check(
+            @NotNull RegexNode node,
+            boolean isAtomic,
+            @NotNull StringLiteralExpression target,
+            @NotNull ProblemsHolder holder
+    ) {
+        boolean result = false;
+        /* atomic groups are preventing backtracking, hence the explosion */
+        if (!isAtomic && isCompoundingQuantifier(node)) {
+            final String quantifier = node.getQuantifierText();
+            for (final RegexNode alternative : node.getQuantified().getBody().getChildren()) {
+                final RegexNode candidate = getSingleQuantifiedClass(alternative);
+                if (candidate != null) {
+                    holder.registerProblem(
+                            target,
+                            String.format(messagePattern, candidate.getText(), quantifier),
+                            ProblemHighlightType.GENERIC_ERROR
+                    );
+                    result = true;
+                    break;
                 }
             }
-            final Matcher matcher = regexOuterGroup.matcher(normalizedPattern);
-            while (matcher.find()) {
-                final String fragment = matcher.group(2);
-                if (fragment != null) {
-                    for (final String candidate : fragment.split("\\|")) {
-                        if (!candidate.isEmpty() && candidate.matches("^\\\\[dDwWsS][*+]$")) {
-                            holder.registerProblem(
-                                    target,
-                                    String.format(messagePattern, candidate, matcher.group(3)),
-                                    ProblemHighlightType.GENERIC_ERROR
-                            );
-                            break;
-                        }
-                    }
+        }
+        final boolean isAtomicChild = isAtomic || (node.is(RegexNode.Type.GROUP) && node.getGroupType() == RegexNode.GroupType.ATOMIC);
+        for (final RegexNode child : node.getChildren()) {
+            result = check(child, isAtomicChild, target, holder) || result;
+        }
+        return result;
+    }
+
+    /* (...)+ and (...)* for capturing and non-capturing groups */
+    private static boolean isCompoundingQuantifier(@NotNull RegexNode node) {
+        if (node.is(RegexNode.Type.QUANTIFIER) && !node.isPossessive() && isUnbounded(node)) {
+            final RegexNode group = node.getQuantified();
+            if (group.is(RegexNode.Type.GROUP)) {
+                final RegexNode.GroupType type = group.getGroupType();
+                return type == RegexNode.GroupType.CAPTURING ||
+                       type == RegexNode.GroupType.NAMED ||
+                       type == RegexNode.GroupType.NON_CAPTURING;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isUnbounded(@NotNull RegexNode quantifier) {
+        final String text = quantifier.getQuantifierText();
+        return text.equals("+") || text.equals("*");
+    }
+
+    /* \d+, \W* and etc. as the only alternative item, groups without unbounded quantifiers are not counted */
+    private static RegexNode getSingleQuantifiedClass(@NotNull RegexNode alternative) {
+        RegexNode result = null;
+        for (final RegexNode item : alternative.getChildren()) {
+            final boolean isGroup = item.is(RegexNode.Type.GROUP) ||
+                                    (item.is(RegexNode.Type.QUANTIFIER) && item.getQuantified().is(RegexNode.Type.GROUP) && !isUnbounded(item));
+            if (!isGroup) {
+                if (result != null) {
+                    return null;
                 }
+                result = item;
+            }
+        }
+        if (result != null && result.is(RegexNode.Type.QUANTIFIER) && !result.isLazy() && !result.isPossessive() && isUnbounded(result)) {
+            final RegexNode quantified = result.getQuantified();
+            if (quantified.is(RegexNode.Type.ESCAPE) && "dDwWsS".indexOf(quantified.getValue()) != -1) {
+                return result;
             }
         }
+        return null;
     }
 }
@@ -3,11 +3,11 @@ package com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.mod
 import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.codeInspection.ProblemsHolder;
 import com.jetbrains.php.lang.psi.elements.StringLiteralExpression;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.RegexNode;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.List;
 
 /*
  * This file is part of the Php Inspections (EA Extended) package.
@@ -21,22 +21,31 @@ import java.util.regex.Pattern;
 final public class MissingDotAllCheckStrategy {
     private static final String message = "/s modifier is probably missing (not matching multiline tag content).";
 
-    final static private Pattern regexTagContentPattern;
-    static {
-        regexTagContentPattern = Pattern.compile(".*>\\.[*+](\\?)?<.*");
-    }
-
     static public void apply(
             @Nullable String modifiers,
-            @Nullable String pattern,
+            @NotNull RegexNode regex,
             @NotNull StringLiteralExpression target,
             @NotNull final ProblemsHolder holder
     ) {
-        if ((modifiers == null || modifiers.indexOf('s') == -1) && pattern != null && pattern.indexOf('>') != -1) {
-            final Matcher matcher = regexTagContentPattern.matcher(pattern);
-            if (matcher.matches()) {
-                holder.registerProblem(target, message, ProblemHighlightType.WEAK_WARNING);
+        if (modifiers == null || modifiers.indexOf('s') == -1) {
+            /* >.*<, >.+?< and etc. */
+            for (final RegexNode sequence : regex.findAll(RegexNode.Type.SEQUENCE)) {
+                final List<RegexNode> items = sequence.getChildren();
+                for (int index = 1; index + 1 < items.size(); ++index) {
+                    final RegexNode item = items.get(index);
+                    if (
+                        item.is(RegexNode.Type.QUANTIFIER) && !item.isPossessive() && item.getQuantified().is(RegexNode.Type.DOT) &&
+                        item.getMax() == RegexNode.UNBOUNDED && isCharacter(items.get(index - 1), '>') && isCharacter(items.get(index + 1), '<')
+                    ) {
+                        holder.registerProblem(target, message, ProblemHighlightType.WEAK_WARNING);
+                        return;
+                    }
+                }
             }
         }
     }
+
+    private static boolean isCharacter(@NotNull RegexNode node, char character) {
+        return node.is(RegexNode.Type.LITERAL) && node.getValue() == character;
+    }
 }
@@ -3,7 +3,7 @@ package com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.mod
 import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.codeInspection.ProblemsHolder;
 import com.jetbrains.php.lang.psi.elements.StringLiteralExpression;
-import org.apache.commons.lang.StringUtils;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.RegexNode;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -22,7 +22,7 @@ public class UselessDollarEndOnlyModifierStrategy {
 
     static public void apply(
             @Nullable String modifiers,
-            @Nullable String pattern,
+            @NotNull RegexNode regex,
             @NotNull StringLiteralExpression target,
             @NotNull ProblemsHolder holder
     ) {
@@ -31,9 +31,9 @@ public class UselessDollarEndOnlyModifierStrategy {
                 holder.registerProblem(target, messageIgnored, ProblemHighlightType.WEAK_WARNING);
             }
 
-            if (pattern != null && !pattern.isEmpty()) {
-                int countEnds = StringUtils.countMatches(pattern, "$") - StringUtils.countMatches(pattern, "\\$");
-                if (countEnds == 0) {
+            if (!regex.getText().isEmpty()) {
+                final boolean hasEnds = regex.findAll(RegexNode.Type.ANCHOR).stream().anyMatch(anchor -> anchor.getValue() == '$');
+                if (!hasEnds) {
                     holder.registerProblem(target, messageAmbiguous, ProblemHighlightType.WEAK_WARNING);
                 }
             }
@@ -3,7 +3,7 @@ package com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.mod
 import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.codeInspection.ProblemsHolder;
 import com.jetbrains.php.lang.psi.elements.StringLiteralExpression;
-import org.apache.commons.lang.StringUtils;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.RegexNode;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -21,13 +21,12 @@ final public class UselessDotAllModifierCheckStrategy {
 
     static public void apply(
             @Nullable String modifiers,
-            @Nullable String pattern,
+            @NotNull  RegexNode regex,
             @NotNull  StringLiteralExpression target,
             @NotNull  ProblemsHolder holder
     ) {
-        if (modifiers != null && pattern != null && !pattern.isEmpty() && modifiers.indexOf('s') != -1) {
-            final String normalized = pattern.replaceAll("\\[[^\\]]+\\]", "");
-            if (StringUtils.countMatches(normalized, ".") - StringUtils.countMatches(normalized, "\\.") == 0) {
+        if (modifiers != null && modifiers.indexOf('s') != -1 && !regex.getText().isEmpty()) {
+            if (regex.findAll(RegexNode.Type.DOT).isEmpty()) {
                 holder.registerProblem(target, message, ProblemHighlightType.WEAK_WARNING);
             }
         }
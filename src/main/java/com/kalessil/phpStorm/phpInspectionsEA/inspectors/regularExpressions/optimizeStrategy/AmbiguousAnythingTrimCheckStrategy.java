@@ -4,9 +4,10 @@ import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.codeInspection.ProblemsHolder;
 import com.jetbrains.php.lang.psi.elements.FunctionReference;
 import com.jetbrains.php.lang.psi.elements.StringLiteralExpression;
-import org.apache.commons.lang.StringUtils;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.RegexNode;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
 
 /*
  * This file is part of the Php Inspections (EA Extended) package.
@@ -24,20 +25,29 @@ final public class AmbiguousAnythingTrimCheckStrategy {
     static public void apply(
             @NotNull String functionName,
             @NotNull FunctionReference reference,
-            @Nullable String pattern,
+            @NotNull RegexNode regex,
             @NotNull StringLiteralExpression target,
             @NotNull ProblemsHolder holder
     ) {
-        if (pattern != null && !pattern.isEmpty() && functionName.startsWith("preg_match") && reference.getParameters().length == 2) {
-            int countBackRefs = StringUtils.countMatches(pattern, "\\0") - StringUtils.countMatches(pattern, "\\\\0");
-            if (countBackRefs <= 0) {
-                if (pattern.startsWith(".*")) {
+        /* alternations are not analyzed: .* is not leading/trailing for the whole pattern there */
+        final List<RegexNode> alternatives = regex.getChildren();
+        if (alternatives.size() == 1 && functionName.startsWith("preg_match") && reference.getParameters().length == 2) {
+            final boolean hasBackReferences = regex.findAll(RegexNode.Type.ESCAPE).stream().anyMatch(escape -> escape.getValue() == '0');
+            final List<RegexNode> items     = alternatives.get(0).getChildren();
+            if (!hasBackReferences && !items.isEmpty()) {
+                if (isAnything(items.get(0))) {
                     holder.registerProblem(target, messageLeading, ProblemHighlightType.WEAK_WARNING);
                 }
-                if (pattern.endsWith(".*")) {
+                final RegexNode last = items.get(items.size() - 1);
+                if (isAnything(last) && !last.isLazy() && !last.isPossessive()) {
                     holder.registerProblem(target, messageTrailing, ProblemHighlightType.WEAK_WARNING);
                 }
             }
         }
     }
+
+    private static boolean isAnything(@NotNull RegexNode node) {
+        return node.is(RegexNode.Type.QUANTIFIER) && node.getQuantified().is(RegexNode.Type.DOT) &&
+               node.getMin() == 0 && node.getMax() == RegexNode.UNBOUNDED;
+    }
 }
@@ -3,11 +3,11 @@ package com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.opt
 import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.codeInspection.ProblemsHolder;
 import com.jetbrains.php.lang.psi.elements.StringLiteralExpression;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.RegexNode;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.List;
 
 /*
  * This file is part of the Php Inspections (EA Extended) package.
@@ -21,21 +21,47 @@ import java.util.regex.Pattern;
 final public class SequentialClassesCollapseCheckStrategy {
     private static final String messagePattern = "'%s' can be replaced with '%s{...}'.";
 
-    final static private Pattern regexRepeatedClasses;
-    static {
-        regexRepeatedClasses = Pattern.compile("((\\[([^\\]]+)\\])(\\*|\\+|\\?|\\{[^\\}]+\\})?\\2(\\*|\\+|\\?|\\{[^\\}]+\\})?)+");
+    static public void apply(@NotNull RegexNode regex, @NotNull StringLiteralExpression target, @NotNull ProblemsHolder holder) {
+        /* report the first (in the pattern) repetition only */
+        RegexNode first = null;
+        RegexNode last  = null;
+        for (final RegexNode sequence : regex.findAll(RegexNode.Type.SEQUENCE)) {
+            final List<RegexNode> items = sequence.getChildren();
+            for (int start = 0; start < items.size(); ++start) {
+                final String set = getSetText(items.get(start));
+                if (set != null) {
+                    int end = start + 1;
+                    while (end < items.size() && set.equals(getSetText(items.get(end)))) {
+                        ++end;
+                    }
+                    /* sets are matched in pairs */
+                    final int count = end - start;
+                    if (count > 1 && (first == null || items.get(start).getStartOffset() < first.getStartOffset())) {
+                        first = items.get(start);
+                        last  = items.get(start + count - count % 2 - 1);
+                    }
+                    start = end - 1;
+                }
+            }
+        }
+        if (first != null) {
+            final String text     = regex.getText();
+            final String fragment = text.substring(first.getStartOffset(), last.getEndOffset());
+            holder.registerProblem(
+                    target,
+                    String.format(messagePattern, fragment, getSetText(first)),
+                    ProblemHighlightType.WEAK_WARNING
+            );
+        }
     }
 
-    static public void apply(@Nullable String pattern, @NotNull StringLiteralExpression target, @NotNull ProblemsHolder holder) {
-        if (pattern != null && !pattern.isEmpty() && pattern.indexOf('[') >= 0) {
-            final Matcher matcher = regexRepeatedClasses.matcher(pattern);
-            if (matcher.find()) {
-                holder.registerProblem(
-                        target,
-                        String.format(messagePattern, matcher.group(0), matcher.group(2)),
-                        ProblemHighlightType.WEAK_WARNING
-                );
-            }
+    /* [...] optionally followed by a greedy quantifier */
+    @Nullable
+    private static String getSetText(@NotNull RegexNode item) {
+        RegexNode set = item;
+        if (item.is(RegexNode.Type.QUANTIFIER) && !item.isLazy() && !item.isPossessive()) {
+            set = item.getQuantified();
         }
+        return set.is(RegexNode.Type.CLASS) ? set.getText() : null;
     }
 }
@@ -0,0 +1,613 @@
+package com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/**
+ * Detects catastrophic backtracking by analyzing ambiguity of the pattern NFA (position/Glushkov automaton):
+ *  - exponential: a state with two different loops consuming the same input (e.g. (a+)+, (a|a)*, (a?b?)*);
+ *  - polynomial: two different looping states, connected and consuming the same input (e.g. \d+\d+, .*a.*).
+ * The analysis is bounded by positions and steps budgets, exceeding them results in UNKNOWN complexity.
+ *
+ * Approximations: atomic groups and possessive quantifiers are opaque (no backtracking inside), lookarounds,
+ * anchors and back-references are not consuming input, bounded repetitions are treated as ?, + or *.
+ */
+final public class BacktrackingAnalyzer {
+    public enum Complexity { LINEAR, POLYNOMIAL, EXPONENTIAL, UNKNOWN }
+
+    final public static class Result {
+        @NotNull
+        private final Complexity complexity;
+        @Nullable
+        private final String fragment;
+
+        private Result(@NotNull Complexity complexity, @Nullable String fragment) {
+            this.complexity = complexity;
+            this.fragment   = fragment;
+        }
+
+        @NotNull
+        public Complexity getComplexity() {
+            return this.complexity;
+        }
+
+        /* the pattern fragment causing backtracking, for exponential and polynomial complexities */
+        @Nullable
+        public String getFragment() {
+            return this.fragment;
+        }
+    }
+
+    private static final int maxPositions = 256;
+    private static final int maxSteps     = 250_000;
+    private static final int cacheSize    = 512;
+
+    private static final Map<String, Result> cache = new LinkedHashMap<String, Result>(cacheSize, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(@NotNull Map.Entry<String, Result> eldest) {
+            return this.size() > cacheSize;
+        }
+    };
+
+    private static final CharacterSet digits     = CharacterSet.of('0', '9');
+    private static final CharacterSet word       = CharacterSet.union(Arrays.asList(digits, CharacterSet.of('a', 'z'), CharacterSet.of('A', 'Z'), CharacterSet.of("_")));
+    private static final CharacterSet spaces     = CharacterSet.of(" \t\n\u000B\f\r");
+    private static final CharacterSet horizontal = CharacterSet.of(" \t\u00A0");
+    private static final CharacterSet vertical   = CharacterSet.of("\n\u000B\f\r\u0085\u2028\u2029");
+
+    private final boolean isCaseInsensitive;
+    private final boolean isExtended;
+    @NotNull
+    private final String source;
+    private final List<CharacterSet> labels = new ArrayList<>();
+    private final List<RegexNode> loops     = new ArrayList<>();
+    private final List<int[]> transitions   = new ArrayList<>();
+    @Nullable
+    private RegexNode outermostLoop;
+    private int steps;
+
+    private BacktrackingAnalyzer(@NotNull String source, @Nullable String modifiers) {
+        this.source            = source;
+        this.isCaseInsensitive = modifiers != null && modifiers.indexOf('i') != -1;
+        this.isExtended        = modifiers != null && modifiers.indexOf('x') != -1;
+    }
+
+    @NotNull
+    public static Result analyze(@NotNull RegexNode regex, @Nullable String modifiers, boolean checkPolynomial) {
+        final String key = (checkPolynomial ? 'p' : 'e') + (modifiers == null ? "" : modifiers) + '/' + regex.getText();
+        synchronized (cache) {
+            final Result cached = cache.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        Result result;
+        try {
+            result = new BacktrackingAnalyzer(regex.getText(), modifiers).analyze(regex, checkPolynomial);
+        } catch (final BudgetExceededException exceeded) {
+            result = new Result(Complexity.UNKNOWN, null);
+        }
+        synchronized (cache) {
+            cache.put(key, result);
+        }
+        return result;
+    }
+
+    @NotNull
+    private Result analyze(@NotNull RegexNode regex, boolean checkPolynomial) {
+        /* state 0 is the initial one, positions are following it */
+        this.labels.add(CharacterSet.EMPTY);
+        this.loops.add(null);
+        final Fragment root = this.build(regex);
+
+        final int size      = this.labels.size();
+        final int[][] count = new int[size][size];
+        for (final int first : root.first) {
+            ++count[0][first];
+        }
+        for (final int[] transition : this.transitions) {
+            ++count[transition[0]][transition[1]];
+        }
+        final int[][] successors = new int[size][];
+        for (int state = 0; state < size; ++state) {
+            int total = 0;
+            for (int target = 1; target < size; ++target) {
+                total += count[state][target] > 0 ? 1 : 0;
+            }
+            successors[state] = new int[total];
+            for (int target = 1, index = 0; target < size; ++target) {
+                if (count[state][target] > 0) {
+                    successors[state][index++] = target;
+                }
+            }
+        }
+
+        /* looping states: reachable and being part of a cycle */
+        final int[] components  = this.findComponents(size, new int[]{0}, state -> successors[state]);
+        final boolean[] looping = new boolean[size];
+        final int[] sizes       = new int[size];
+        for (int state = 0; state < size; ++state) {
+            if (components[state] >= 0) {
+                ++sizes[components[state]];
+            }
+        }
+        for (int state = 1; state < size; ++state) {
+            if (components[state] >= 0) {
+                looping[state] = sizes[components[state]] > 1 || count[state][state] > 0;
+            }
+        }
+
+        final int exponential = this.findExponentialState(size, successors, count, looping);
+        if (exponential != -1) {
+            return new Result(Complexity.EXPONENTIAL, this.loops.get(exponential).getText());
+        }
+        if (checkPolynomial) {
+            final int[] polynomial = this.findPolynomialStates(size, successors, components, looping);
+            if (polynomial != null) {
+                final RegexNode first  = this.loops.get(polynomial[0]);
+                final RegexNode second = this.loops.get(polynomial[1]);
+                final int start        = Math.min(first.getStartOffset(), second.getStartOffset());
+                final int end          = Math.max(first.getEndOffset(), second.getEndOffset());
+                return new Result(Complexity.POLYNOMIAL, this.source.substring(start, end));
+            }
+        }
+        return new Result(Complexity.LINEAR, null);
+    }
+
+    /* a looping state q from which two different paths are getting back to q reading the same input */
+    private int findExponentialState(int size, @NotNull int[][] successors, @NotNull int[][] count, @NotNull boolean[] looping) {
+        final List<Integer> starts = new ArrayList<>();
+        for (int state = 1; state < size; ++state) {
+            if (looping[state]) {
+                starts.add(state * size + state);
+            }
+        }
+        if (starts.isEmpty()) {
+            return -1;
+        }
+
+        /* pairs automaton: both paths are reading the same character at each step */
+        final int[] components = this.findComponents(
+                size * size,
+                starts.stream().mapToInt(Integer::intValue).toArray(),
+                pair -> {
+                    final int[] first          = successors[pair / size];
+                    final int[] second         = successors[pair % size];
+                    final List<Integer> result = new ArrayList<>();
+                    for (final int left : first) {
+                        for (final int right : second) {
+                            this.step();
+                            if (this.labels.get(left).intersects(this.labels.get(right))) {
+                                result.add(left * size + right);
+                            }
+                        }
+                    }
+                    return result.stream().mapToInt(Integer::intValue).toArray();
+                }
+        );
+
+        /* paths diverge and join again: through different states or through parallel transitions */
+        final Map<Integer, Integer> diagonals = new HashMap<>();
+        final Set<Integer> divergent          = new HashSet<>();
+        for (int pair = 0; pair < components.length; ++pair) {
+            if (components[pair] >= 0) {
+                if (pair / size == pair % size) {
+                    diagonals.putIfAbsent(components[pair], pair / size);
+                } else {
+                    divergent.add(components[pair]);
+                }
+            }
+        }
+        for (final Map.Entry<Integer, Integer> diagonal : diagonals.entrySet()) {
+            if (divergent.contains(diagonal.getKey())) {
+                return diagonal.getValue();
+            }
+        }
+        for (int state = 1; state < size; ++state) {
+            final int pair = state * size + state;
+            if (components[pair] >= 0) {
+                for (final int target : successors[state]) {
+                    if (count[state][target] > 1 && components[target * size + target] == components[pair]) {
+                        return state;
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+
+    /* looping states p and q (from different components): p loops on w, p reaches q on w, q loops on w */
+    @Nullable
+    private int[] findPolynomialStates(int size, @NotNull int[][] successors, @NotNull int[] components, @NotNull boolean[] looping) {
+        for (int first = 1; first < size; ++first) {
+            if (looping[first]) {
+                for (int second = 1; second < size; ++second) {
+                    if (looping[second] && components[first] != components[second] && this.isTriplePathExisting(size, successors, first, second)) {
+                        return new int[]{first, second};
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private boolean isTriplePathExisting(int size, @NotNull int[][] successors, int first, int second) {
+        final long target         = encode(size, first, second, second);
+        final Set<Long> visited   = new HashSet<>();
+        final Deque<long[]> queue = new ArrayDeque<>();
+        queue.add(new long[]{first, first, second});
+        visited.add(encode(size, first, first, second));
+        while (!queue.isEmpty()) {
+            final long[] current = queue.poll();
+            for (final int a : successors[(int) current[0]]) {
+                for (final int b : successors[(int) current[1]]) {
+                    this.step();
+                    final CharacterSet common = this.labels.get(a).intersect(this.labels.get(b));
+                    if (!common.isEmpty()) {
+                        for (final int c : successors[(int) current[2]]) {
+                            this.step();
+                            if (common.intersects(this.labels.get(c))) {
+                                final long next = encode(size, a, b, c);
+                                if (next == target) {
+                                    return true;
+                                }
+                                if (visited.add(next)) {
+                                    queue.add(new long[]{a, b, c});
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private static long encode(int size, int first, int second, int third) {
+        return ((long) first * size + second) * size + third;
+    }
+
+    /* iterative Tarjan's algorithm over nodes reachable from starts, -1 for not visited nodes */
+    @NotNull
+    private int[] findComponents(int nodes, @NotNull int[] starts, @NotNull Successors graph) {
+        final int[] components = new int[nodes];
+        final int[] indexes    = new int[nodes];
+        final int[] lowLinks   = new int[nodes];
+        final boolean[] stack  = new boolean[nodes];
+        Arrays.fill(components, -1);
+        Arrays.fill(indexes, -1);
+
+        final Deque<Integer> members    = new ArrayDeque<>();
+        final Deque<int[]> frames       = new ArrayDeque<>();
+        final Map<Integer, int[]> edges = new HashMap<>();
+        int index     = 0;
+        int component = 0;
+        for (final int start : starts) {
+            if (indexes[start] != -1) {
+                continue;
+            }
+            frames.push(new int[]{start, 0});
+            while (!frames.isEmpty()) {
+                final int[] frame = frames.peek();
+                final int node    = frame[0];
+                if (frame[1] == 0 && indexes[node] == -1) {
+                    indexes[node] = lowLinks[node] = index++;
+                    members.push(node);
+                    stack[node] = true;
+                    edges.put(node, graph.of(node));
+                }
+                final int[] targets = edges.get(node);
+                if (frame[1] < targets.length) {
+                    final int target = targets[frame[1]++];
+                    if (indexes[target] == -1) {
+                        frames.push(new int[]{target, 0});
+                    } else if (stack[target]) {
+                        lowLinks[node] = Math.min(lowLinks[node], indexes[target]);
+                    }
+                    continue;
+                }
+
+                frames.pop();
+                edges.remove(node);
+                if (!frames.isEmpty()) {
+                    final int parent = frames.peek()[0];
+                    lowLinks[parent] = Math.min(lowLinks[parent], lowLinks[node]);
+                }
+                if (lowLinks[node] == indexes[node]) {
+                    int member;
+                    do {
+                        member             = members.pop();
+                        stack[member]      = false;
+                        components[member] = component;
+                    } while (member != node);
+                    ++component;
+                }
+            }
+        }
+        return components;
+    }
+
+    private void step() {
+        if (++this.steps > maxSteps) {
+            throw new BudgetExceededException();
+        }
+    }
+
+    @NotNull
+    private Fragment build(@NotNull RegexNode node) {
+        switch (node.getType()) {
+            case ALTERNATION: {
+                final Fragment result = new Fragment(false);
+                for (final RegexNode alternative : node.getChildren()) {
+                    final Fragment fragment = this.build(alternative);
+                    result.first.addAll(fragment.first);
+                    result.last.addAll(fragment.last);
+                    result.isNullable |= fragment.isNullable;
+                }
+                return result;
+            }
+            case SEQUENCE: {
+                Fragment result = new Fragment(true);
+                for (final RegexNode item : node.getChildren()) {
+                    result = this.concatenate(result, this.build(item));
+                }
+                return result;
+            }
+            case GROUP:
+                switch (node.getGroupType()) {
+                    case LOOKAHEAD:
+                    case NEGATIVE_LOOKAHEAD:
+                    case LOOKBEHIND:
+                    case NEGATIVE_LOOKBEHIND:
+                        return new Fragment(true);
+                    case ATOMIC:
+                        return this.createOpaque(node.getBody(), this.build(node.getBody()).isNullable);
+                    default:
+                        return this.build(node.getBody());
+                }
+            case QUANTIFIER:
+                return this.buildQuantifier(node);
+            default:
+                final CharacterSet label = this.getLabel(node, false);
+                return label == null ? new Fragment(true) : this.createPosition(label);
+        }
+    }
+
+    @NotNull
+    private Fragment buildQuantifier(@NotNull RegexNode quantifier) {
+        final RegexNode quantified = quantifier.getQuantified();
+        final int min              = quantifier.getMin();
+        final int max              = quantifier.getMax();
+        if (max == 0) {
+            return new Fragment(true);
+        }
+        if (quantifier.isPossessive()) {
+            return this.createOpaque(quantified, min == 0 || this.build(quantified).isNullable);
+        }
+
+        /* positions are remembering the outermost loop, it's used for reporting */
+        final boolean isRepeated  = max == RegexNode.UNBOUNDED || (max > 1 && max > min);
+        final boolean isOutermost = isRepeated && this.outermostLoop == null;
+        if (isOutermost) {
+            this.outermostLoop = quantifier;
+        }
+        final Fragment fragment = this.build(quantified);
+        if (isOutermost) {
+            this.outermostLoop = null;
+        }
+        if (isRepeated) {
+            for (final int last : fragment.last) {
+                for (final int first : fragment.first) {
+                    this.transitions.add(new int[]{last, first});
+                }
+            }
+        }
+        fragment.isNullable |= min == 0;
+        return fragment;
+    }
+
+    @NotNull
+    private Fragment concatenate(@NotNull Fragment left, @NotNull Fragment right) {
+        for (final int last : left.last) {
+            for (final int first : right.first) {
+                this.transitions.add(new int[]{last, first});
+            }
+        }
+        final Fragment result = new Fragment(left.isNullable && right.isNullable);
+        result.first.addAll(left.first);
+        if (left.isNullable) {
+            result.first.addAll(right.first);
+        }
+        result.last.addAll(right.last);
+        if (right.isNullable) {
+            result.last.addAll(left.last);
+        }
+        return result;
+    }
+
+    /* no backtracking into the node: a single position consuming any of its characters */
+    @NotNull
+    private Fragment createOpaque(@NotNull RegexNode node, boolean isNullable) {
+        final List<CharacterSet> sets = new ArrayList<>();
+        this.collectLabels(node, sets);
+        final CharacterSet label = CharacterSet.union(sets);
+        final Fragment result    = label.isEmpty() ? new Fragment(true) : this.createPosition(label);
+        result.isNullable       |= isNullable;
+        return result;
+    }
+
+    private void collectLabels(@NotNull RegexNode node, @NotNull List<CharacterSet> sets) {
+        if (node.is(RegexNode.Type.GROUP) || node.is(RegexNode.Type.QUANTIFIER) || node.is(RegexNode.Type.ALTERNATION) || node.is(RegexNode.Type.SEQUENCE)) {
+            for (final RegexNode child : node.getChildren()) {
+                this.collectLabels(child, sets);
+            }
+        } else {
+            final CharacterSet label = this.getLabel(node, false);
+            if (label != null) {
+                sets.add(label);
+            }
+        }
+    }
+
+    @NotNull
+    private Fragment createPosition(@NotNull CharacterSet label) {
+        if (this.labels.size() > maxPositions) {
+            throw new BudgetExceededException();
+        }
+        final int position = this.labels.size();
+        this.labels.add(this.isCaseInsensitive ? label.withBothCases() : label);
+        this.loops.add(this.outermostLoop);
+
+        final Fragment result = new Fragment(false);
+        result.first.add(position);
+        result.last.add(position);
+        return result;
+    }
+
+    /* characters consumed by the node, null for not consuming nodes (anchors, assertions and etc.) */
+    @Nullable
+    private CharacterSet getLabel(@NotNull RegexNode node, boolean isInClass) {
+        switch (node.getType()) {
+            case DOT:
+                return CharacterSet.ANY;
+            case LITERAL: {
+                final String text = node.getText();
+                if (text.startsWith("\\Q")) {
+                    final String quoted = text.endsWith("\\E") ? text.substring(2, text.length() - 2) : text.substring(2);
+                    return quoted.isEmpty() ? null : CharacterSet.of(quoted);
+                }
+                if (this.isExtended && !isInClass && Character.isWhitespace(node.getValue())) {
+                    return null;
+                }
+                return CharacterSet.of(text);
+            }
+            case ESCAPE:
+                return this.getEscapeLabel(node, isInClass);
+            case CLASS: {
+                final List<CharacterSet> sets = new ArrayList<>();
+                for (final RegexNode item : node.getChildren()) {
+                    final CharacterSet set = this.getLabel(item, true);
+                    if (set != null) {
+                        sets.add(set);
+                    }
+                }
+                final CharacterSet result = CharacterSet.union(sets);
+                return node.isNegated() ? result.complement() : result;
+            }
+            case RANGE: {
+                final CharacterSet from = this.getLabel(node.getChildren().get(0), true);
+                final CharacterSet to   = this.getLabel(node.getChildren().get(1), true);
+                if (from != null && to != null && from.getSingle() != -1 && to.getSingle() != -1) {
+                    return CharacterSet.of(from.getSingle(), to.getSingle());
+                }
+                return CharacterSet.union(Arrays.asList(from == null ? CharacterSet.EMPTY : from, to == null ? CharacterSet.EMPTY : to));
+            }
+            case POSIX_CLASS:
+                return getPosixLabel(node.getText());
+            default:
+                return null;
+        }
+    }
+
+    @Nullable
+    private CharacterSet getEscapeLabel(@NotNull RegexNode escape, boolean isInClass) {
+        final String text = escape.getText();
+        switch (escape.getValue()) {
+            case 'd': return digits;
+            case 'D': return digits.complement();
+            case 'w': return word;
+            case 'W': return word.complement();
+            case 's': return spaces;
+            case 'S': return spaces.complement();
+            case 'h': return horizontal;
+            case 'H': return horizontal.complement();
+            case 'v':
+            case 'R': return vertical;
+            case 'V': return vertical.complement();
+            case 'N': return CharacterSet.of("\n").complement();
+            case 'a': return CharacterSet.of(7, 7);
+            case 'e': return CharacterSet.of(27, 27);
+            case 'f': return CharacterSet.of("\f");
+            case 'n': return CharacterSet.of("\n");
+            case 'r': return CharacterSet.of("\r");
+            case 't': return CharacterSet.of("\t");
+            case '0': return CharacterSet.of(0, 0);
+            case 'x': return CharacterSet.of(parseNumber(text.substring(2), 16), parseNumber(text.substring(2), 16));
+            case 'o': return CharacterSet.of(parseNumber(text.substring(2), 8), parseNumber(text.substring(2), 8));
+            case 'c': return text.length() > 2 ? CharacterSet.of(Character.toUpperCase(text.charAt(2)) ^ 0x40, Character.toUpperCase(text.charAt(2)) ^ 0x40) : CharacterSet.of("c");
+            case 'X':
+            case 'C':
+            case 'p':
+            case 'P': return CharacterSet.ANY;
+            case 'b': return isInClass ? CharacterSet.of(8, 8) : null;
+            case 'B':
+            case 'A':
+            case 'z':
+            case 'Z':
+            case 'G':
+            case 'K': return isInClass ? CharacterSet.of(text.substring(1)) : null;
+            default:  return CharacterSet.of(text.substring(1));
+        }
+    }
+
+    private static int parseNumber(@NotNull String digits, int radix) {
+        final String normalized = digits.replace("{", "").replace("}", "");
+        try {
+            return normalized.isEmpty() ? 0 : Math.min(Integer.parseInt(normalized, radix), CharacterSet.MAX_CODE_POINT);
+        } catch (final NumberFormatException malformed) {
+            return 0;
+        }
+    }
+
+    @NotNull
+    private static CharacterSet getPosixLabel(@NotNull String text) {
+        final boolean isNegated = text.startsWith("[:^");
+        final String name       = text.substring(isNegated ? 3 : 2, Math.max(isNegated ? 3 : 2, text.length() - 2));
+        final CharacterSet result;
+        switch (name) {
+            case "digit":  result = digits; break;
+            case "alpha":  result = CharacterSet.union(Arrays.asList(CharacterSet.of('a', 'z'), CharacterSet.of('A', 'Z'))); break;
+            case "alnum":  result = CharacterSet.union(Arrays.asList(digits, CharacterSet.of('a', 'z'), CharacterSet.of('A', 'Z'))); break;
+            case "word":   result = word; break;
+            case "space":  result = spaces; break;
+            case "blank":  result = horizontal; break;
+            case "lower":  result = CharacterSet.of('a', 'z'); break;
+            case "upper":  result = CharacterSet.of('A', 'Z'); break;
+            case "xdigit": result = CharacterSet.union(Arrays.asList(digits, CharacterSet.of('a', 'f'), CharacterSet.of('A', 'F'))); break;
+            default:       result = CharacterSet.ANY; break;
+        }
+        return isNegated ? result.complement() : result;
+    }
+
+    private interface Successors {
+        @NotNull
+        int[] of(int node);
+    }
+
+    private static final class Fragment {
+        private final Set<Integer> first = new LinkedHashSet<>();
+        private final Set<Integer> last  = new LinkedHashSet<>();
+        private boolean isNullable;
+
+        private Fragment(boolean isNullable) {
+            this.isNullable = isNullable;
+        }
+    }
+
+    private static final class BudgetExceededException extends RuntimeException {
+        private BudgetExceededException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/* immutable set of code points: sorted, disjoint and non-adjacent [from, to] ranges */
+final class CharacterSet {
+    static final int MAX_CODE_POINT = 0x10FFFF;
+
+    static final CharacterSet EMPTY = new CharacterSet(new int[0]);
+    static final CharacterSet ANY   = new CharacterSet(new int[]{0, MAX_CODE_POINT});
+
+    @NotNull
+    private final int[] ranges;
+
+    private CharacterSet(@NotNull int[] ranges) {
+        this.ranges = ranges;
+    }
+
+    @NotNull
+    static CharacterSet of(int from, int to) {
+        return from > to ? EMPTY : new CharacterSet(new int[]{from, to});
+    }
+
+    @NotNull
+    static CharacterSet of(@NotNull String characters) {
+        final List<CharacterSet> sets = new ArrayList<>();
+        characters.codePoints().forEach(character -> sets.add(of(character, character)));
+        return union(sets);
+    }
+
+    @NotNull
+    static CharacterSet union(@NotNull List<CharacterSet> sets) {
+        final List<int[]> pairs = new ArrayList<>();
+        for (final CharacterSet set : sets) {
+            for (int index = 0; index < set.ranges.length; index += 2) {
+                pairs.add(new int[]{set.ranges[index], set.ranges[index + 1]});
+            }
+        }
+        pairs.sort((first, second) -> Integer.compare(first[0], second[0]));
+
+        final int[] merged = new int[pairs.size() * 2];
+        int size           = 0;
+        for (final int[] pair : pairs) {
+            if (size > 0 && pair[0] <= merged[size - 1] + 1) {
+                merged[size - 1] = Math.max(merged[size - 1], pair[1]);
+            } else {
+                merged[size++] = pair[0];
+                merged[size++] = pair[1];
+            }
+        }
+        return new CharacterSet(Arrays.copyOf(merged, size));
+    }
+
+    boolean isEmpty() {
+        return this.ranges.length == 0;
+    }
+
+    /* the code point if the set consists of a single character, -1 otherwise */
+    int getSingle() {
+        return this.ranges.length == 2 && this.ranges[0] == this.ranges[1] ? this.ranges[0] : -1;
+    }
+
+    @NotNull
+    CharacterSet complement() {
+        final List<CharacterSet> result = new ArrayList<>();
+        int next                        = 0;
+        for (int index = 0; index < this.ranges.length; index += 2) {
+            result.add(of(next, this.ranges[index] - 1));
+            next = this.ranges[index + 1] + 1;
+        }
+        result.add(of(next, MAX_CODE_POINT));
+        return union(result);
+    }
+
+    @NotNull
+    CharacterSet intersect(@NotNull CharacterSet other) {
+        final List<CharacterSet> result = new ArrayList<>();
+        int left                        = 0;
+        int right                       = 0;
+        while (left < this.ranges.length && right < other.ranges.length) {
+            final int from = Math.max(this.ranges[left], other.ranges[right]);
+            final int to   = Math.min(this.ranges[left + 1], other.ranges[right + 1]);
+            if (from <= to) {
+                result.add(of(from, to));
+            }
+            if (this.ranges[left + 1] < other.ranges[right + 1]) {
+                left += 2;
+            } else {
+                right += 2;
+            }
+        }
+        return result.isEmpty() ? EMPTY : union(result);
+    }
+
+    boolean intersects(@NotNull CharacterSet other) {
+        int left  = 0;
+        int right = 0;
+        while (left < this.ranges.length && right < other.ranges.length) {
+            if (Math.max(this.ranges[left], other.ranges[right]) <= Math.min(this.ranges[left + 1], other.ranges[right + 1])) {
+                return true;
+            }
+            if (this.ranges[left + 1] < other.ranges[right + 1]) {
+                left += 2;
+            } else {
+                right += 2;
+            }
+        }
+        return false;
+    }
+
+    /* the /i modifier: ASCII letters are matching both cases */
+    @NotNull
+    CharacterSet withBothCases() {
+        final List<CharacterSet> result = new ArrayList<>();
+        result.add(this);
+        final CharacterSet lower = this.intersect(of('a', 'z'));
+        final CharacterSet upper = this.intersect(of('A', 'Z'));
+        for (int index = 0; index < lower.ranges.length; index += 2) {
+            result.add(of(lower.ranges[index] - 32, lower.ranges[index + 1] - 32));
+        }
+        for (int index = 0; index < upper.ranges.length; index += 2) {
+            result.add(of(upper.ranges[index] + 32, upper.ranges[index + 1] + 32));
+        }
+        return union(result);
+    }
+}
@@ -0,0 +1,175 @@
+package com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/* immutable PCRE AST node, offsets are pointing into the parsed pattern */
+final public class RegexNode {
+    public enum Type {
+        ALTERNATION,    /* children: sequences */
+        SEQUENCE,       /* children: atoms and quantifiers */
+        GROUP,          /* children: single alternation, see GroupType */
+        QUANTIFIER,     /* children: quantified atom */
+        CLASS,          /* children: literals, escapes, ranges and posix classes */
+        RANGE,          /* children: range bounds */
+        POSIX_CLASS,
+        LITERAL,
+        ESCAPE,         /* \d, \w, \b, \p{..}, \x{..} and etc, value is the character after backslash */
+        BACK_REFERENCE,
+        DOT,
+        ANCHOR,         /* ^ and $, value is the character */
+        OTHER           /* inline options, comments, verbs and recursion */
+    }
+
+    public enum GroupType {
+        CAPTURING,
+        NAMED,
+        NON_CAPTURING,
+        ATOMIC,
+        LOOKAHEAD,
+        NEGATIVE_LOOKAHEAD,
+        LOOKBEHIND,
+        NEGATIVE_LOOKBEHIND,
+        CONDITIONAL
+    }
+
+    /* max repetitions of *, + and {n,} quantifiers */
+    public static final int UNBOUNDED = -1;
+
+    @NotNull
+    private final String source;
+    @NotNull
+    private final Type type;
+    private final int start;
+    private final int end;
+    @NotNull
+    private final List<RegexNode> children;
+
+    char value;
+    GroupType groupType;
+    boolean isNegated;
+    int min;
+    int max;
+    boolean isLazy;
+    boolean isPossessive;
+
+    RegexNode(@NotNull String source, @NotNull Type type, int start, int end, @NotNull List<RegexNode> children) {
+        this.source   = source;
+        this.type     = type;
+        this.start    = start;
+        this.end      = end;
+        this.children = children.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(children);
+    }
+
+    @NotNull
+    public Type getType() {
+        return this.type;
+    }
+
+    public boolean is(@NotNull Type type) {
+        return this.type == type;
+    }
+
+    @NotNull
+    public List<RegexNode> getChildren() {
+        return this.children;
+    }
+
+    @NotNull
+    public String getText() {
+        return this.source.substring(this.start, this.end);
+    }
+
+    public int getStartOffset() {
+        return this.start;
+    }
+
+    public int getEndOffset() {
+        return this.end;
+    }
+
+    /* literals, escapes and anchors: the character; e.g. 'd' for \d */
+    public char getValue() {
+        return this.value;
+    }
+
+    public GroupType getGroupType() {
+        return this.groupType;
+    }
+
+    /* negated character classes: [^...] */
+    public boolean isNegated() {
+        return this.isNegated;
+    }
+
+    public int getMin() {
+        return this.min;
+    }
+
+    /* UNBOUNDED for *, + and {n,} */
+    public int getMax() {
+        return this.max;
+    }
+
+    public boolean isLazy() {
+        return this.isLazy;
+    }
+
+    public boolean isPossessive() {
+        return this.isPossessive;
+    }
+
+    /* quantifiers: the quantified node */
+    @NotNull
+    public RegexNode getQuantified() {
+        return this.children.get(0);
+    }
+
+    /* quantifiers: the quantifier itself, e.g. "+" or "{1,}" (without lazy/possessive markers) */
+    @NotNull
+    public String getQuantifierText() {
+        final int from = this.getQuantified().end;
+        final int to   = this.isLazy || this.isPossessive ? this.end - 1 : this.end;
+        return this.source.substring(from, to);
+    }
+
+    /* groups: the alternation node */
+    @NotNull
+    public RegexNode getBody() {
+        return this.children.get(0);
+    }
+
+    /* the node itself and its descendants of the given type, in pattern order */
+    @NotNull
+    public List<RegexNode> findAll(@NotNull Type type) {
+        final List<RegexNode> result = new ArrayList<>();
+        this.collect(type, result);
+        return result;
+    }
+
+    private void collect(@NotNull Type type, @NotNull List<RegexNode> result) {
+        if (this.type == type) {
+            result.add(this);
+        }
+        for (final RegexNode child : this.children) {
+            child.collect(type, result);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return this.type + ":" + this.getText();
+    }
+}
@@ -0,0 +1,437 @@
+package com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser;
+
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.RegexNode.GroupType;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.RegexNode.Type;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/**
+ * Single pass, error-tolerant PCRE parser: never fails, malformed constructs are becoming literals.
+ * Trees are cached by pattern text, so strategies (and repeated patterns) are sharing the scanning work.
+ */
+final public class RegexParser {
+    private static final int cacheSize = 512;
+    private static final Map<String, RegexNode> cache = new LinkedHashMap<String, RegexNode>(cacheSize, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(@NotNull Map.Entry<String, RegexNode> eldest) {
+            return this.size() > cacheSize;
+        }
+    };
+
+    @NotNull
+    private final String source;
+    private final int length;
+    private int position;
+    private int depth;
+
+    private RegexParser(@NotNull String source) {
+        this.source = source;
+        this.length = source.length();
+    }
+
+    /* the root node is an alternation (of at least one sequence) */
+    @NotNull
+    public static RegexNode parse(@NotNull String pattern) {
+        synchronized (cache) {
+            final RegexNode cached = cache.get(pattern);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        final RegexNode tree = new RegexParser(pattern).parseAlternation();
+        synchronized (cache) {
+            cache.put(pattern, tree);
+        }
+        return tree;
+    }
+
+    /* string literal contents into the pattern PCRE receives (escapes relevant for the regex structure only) */
+    @NotNull
+    public static String unescape(@NotNull String contents, boolean isSingleQuoted) {
+        if (contents.indexOf('\\') == -1) {
+            return contents;
+        }
+        final StringBuilder result = new StringBuilder(contents.length());
+        for (int index = 0; index < contents.length(); ++index) {
+            final char current = contents.charAt(index);
+            if (current == '\\' && index + 1 < contents.length()) {
+                final char next        = contents.charAt(index + 1);
+                final boolean isQuoted = isSingleQuoted ? next == '\'' : (next == '"' || next == '$');
+                if (next == '\\' || isQuoted) {
+                    result.append(next);
+                    ++index;
+                    continue;
+                }
+            }
+            result.append(current);
+        }
+        return result.toString();
+    }
+
+    @NotNull
+    private RegexNode parseAlternation() {
+        final int start                    = this.position;
+        final List<RegexNode> alternatives = new ArrayList<>();
+        alternatives.add(this.parseSequence());
+        while (this.position < this.length && this.source.charAt(this.position) == '|') {
+            ++this.position;
+            alternatives.add(this.parseSequence());
+        }
+        return new RegexNode(this.source, Type.ALTERNATION, start, this.position, alternatives);
+    }
+
+    @NotNull
+    private RegexNode parseSequence() {
+        final int start             = this.position;
+        final List<RegexNode> atoms = new ArrayList<>();
+        while (this.position < this.length) {
+            final char current = this.source.charAt(this.position);
+            if (current == '|' || (current == ')' && this.depth > 0)) {
+                break;
+            }
+            final RegexNode atom = this.parseAtom();
+            atoms.add(atom.is(Type.OTHER) ? atom : this.parseQuantifiers(atom));
+        }
+        return new RegexNode(this.source, Type.SEQUENCE, start, this.position, atoms);
+    }
+
+    @NotNull
+    private RegexNode parseAtom() {
+        final int start    = this.position;
+        final char current = this.source.charAt(this.position);
+        switch (current) {
+            case '(':
+                return this.parseGroup();
+            case '[':
+                return this.parseClass();
+            case '\\':
+                return this.parseEscape(false);
+            case '.':
+                ++this.position;
+                return this.createLeaf(Type.DOT, start, current);
+            case '^':
+            case '$':
+                ++this.position;
+                return this.createLeaf(Type.ANCHOR, start, current);
+            default:
+                /* also dangling quantifiers and closing parenthesis */
+                ++this.position;
+                return this.createLeaf(Type.LITERAL, start, current);
+        }
+    }
+
+    @NotNull
+    private RegexNode parseQuantifiers(@NotNull RegexNode atom) {
+        RegexNode result = atom;
+        while (this.position < this.length) {
+            final int min;
+            final int max;
+            final char current = this.source.charAt(this.position);
+            if (current == '*' || current == '+' || current == '?') {
+                min = current == '+' ? 1 : 0;
+                max = current == '?' ? 1 : RegexNode.UNBOUNDED;
+                ++this.position;
+            } else if (current == '{') {
+                final int[] bounds = this.parseBounds();
+                if (bounds == null) {
+                    break;
+                }
+                min = bounds[0];
+                max = bounds[1];
+            } else {
+                break;
+            }
+
+            boolean isLazy       = false;
+            boolean isPossessive = false;
+            if (this.position < this.length) {
+                final char marker = this.source.charAt(this.position);
+                if (marker == '?' || marker == '+') {
+                    isLazy       = marker == '?';
+                    isPossessive = marker == '+';
+                    ++this.position;
+                }
+            }
+
+            final RegexNode quantifier = new RegexNode(this.source, Type.QUANTIFIER, result.getStartOffset(), this.position, Collections.singletonList(result));
+            quantifier.min             = min;
+            quantifier.max             = max;
+            quantifier.isLazy          = isLazy;
+            quantifier.isPossessive    = isPossessive;
+            result                     = quantifier;
+        }
+        return result;
+    }
+
+    /* {n}, {n,} and {n,m}; anything else is a literal curly brace */
+    @Nullable
+    private int[] parseBounds() {
+        int index       = this.position + 1;
+        final int first = index;
+        while (index < this.length && Character.isDigit(this.source.charAt(index))) {
+            ++index;
+        }
+        if (index == first || index - first > 9) {
+            return null;
+        }
+        final int min = Integer.parseInt(this.source.substring(first, index));
+        int max       = min;
+        if (index < this.length && this.source.charAt(index) == ',') {
+            final int second = ++index;
+            while (index < this.length && Character.isDigit(this.source.charAt(index))) {
+                ++index;
+            }
+            if (index - second > 9) {
+                return null;
+            }
+            max = index == second ? RegexNode.UNBOUNDED : Integer.parseInt(this.source.substring(second, index));
+        }
+        if (index >= this.length || this.source.charAt(index) != '}') {
+            return null;
+        }
+        this.position = index + 1;
+        return new int[]{min, max};
+    }
+
+    @NotNull
+    private RegexNode parseGroup() {
+        final int start = this.position++;
+        if (this.position < this.length && this.source.charAt(this.position) == '*') {
+            /* verbs: (*UTF8), (*SKIP) and etc. */
+            this.skipAfter(')');
+            return this.createLeaf(Type.OTHER, start, '*');
+        }
+
+        GroupType type = GroupType.CAPTURING;
+        if (this.position < this.length && this.source.charAt(this.position) == '?') {
+            ++this.position;
+            final char marker = this.position < this.length ? this.source.charAt(this.position) : 0;
+            final char next   = this.position + 1 < this.length ? this.source.charAt(this.position + 1) : 0;
+            switch (marker) {
+                case ':':
+                case '|':
+                    type = GroupType.NON_CAPTURING;
+                    ++this.position;
+                    break;
+                case '>':
+                    type = GroupType.ATOMIC;
+                    ++this.position;
+                    break;
+                case '=':
+                    type = GroupType.LOOKAHEAD;
+                    ++this.position;
+                    break;
+                case '!':
+                    type = GroupType.NEGATIVE_LOOKAHEAD;
+                    ++this.position;
+                    break;
+                case '<':
+                    if (next == '=' || next == '!') {
+                        type           = next == '=' ? GroupType.LOOKBEHIND : GroupType.NEGATIVE_LOOKBEHIND;
+                        this.position += 2;
+                    } else {
+                        type = GroupType.NAMED;
+                        this.skipAfter('>');
+                    }
+                    break;
+                case '\'':
+                    type = GroupType.NAMED;
+                    ++this.position;
+                    this.skipAfter('\'');
+                    break;
+                case 'P':
+                    if (next != '<') {
+                        /* (?P=name) back-references and (?P>name) recursion */
+                        this.skipAfter(')');
+                        return this.createLeaf(Type.OTHER, start, marker);
+                    }
+                    type = GroupType.NAMED;
+                    this.skipAfter('>');
+                    break;
+                case '#':
+                    this.skipAfter(')');
+                    return this.createLeaf(Type.OTHER, start, marker);
+                case '(':
+                    /* the condition is not analyzed: back-reference, recursion or assertion */
+                    type = GroupType.CONDITIONAL;
+                    this.skipAfter(')');
+                    break;
+                default:
+                    /* inline options, (?i) or (?i:...), and recursion: (?R), (?1), (?-1), (?&name) */
+                    while (this.position < this.length) {
+                        final char option = this.source.charAt(this.position);
+                        if (!Character.isLetter(option) && option != '-' && option != '^') {
+                            break;
+                        }
+                        ++this.position;
+                    }
+                    if (this.position >= this.length || this.source.charAt(this.position) != ':') {
+                        this.skipAfter(')');
+                        return this.createLeaf(Type.OTHER, start, marker);
+                    }
+                    type = GroupType.NON_CAPTURING;
+                    ++this.position;
+                    break;
+            }
+        }
+
+        ++this.depth;
+        final RegexNode body = this.parseAlternation();
+        --this.depth;
+        if (this.position < this.length && this.source.charAt(this.position) == ')') {
+            ++this.position;
+        }
+        final RegexNode group = new RegexNode(this.source, Type.GROUP, start, this.position, Collections.singletonList(body));
+        group.groupType       = type;
+        return group;
+    }
+
+    @NotNull
+    private RegexNode parseClass() {
+        final int start = this.position++;
+        boolean negated = false;
+        if (this.position < this.length && this.source.charAt(this.position) == '^') {
+            negated = true;
+            ++this.position;
+        }
+
+        final List<RegexNode> items = new ArrayList<>();
+        boolean isFirst             = true;
+        while (this.position < this.length) {
+            final char current = this.source.charAt(this.position);
+            if (current == ']' && !isFirst) {
+                break;
+            }
+            isFirst = false;
+
+            if (current == '[' && this.position + 1 < this.length && this.source.charAt(this.position + 1) == ':') {
+                final int end = this.source.indexOf(":]", this.position + 2);
+                if (end != -1) {
+                    final int posixStart = this.position;
+                    this.position        = end + 2;
+                    items.add(this.createLeaf(Type.POSIX_CLASS, posixStart, ':'));
+                    continue;
+                }
+            }
+
+            RegexNode item = this.parseClassCharacter();
+            if (
+                this.position + 1 < this.length && this.source.charAt(this.position) == '-' &&
+                this.source.charAt(this.position + 1) != ']' && (item.is(Type.LITERAL) || item.is(Type.ESCAPE))
+            ) {
+                ++this.position;
+                final RegexNode upper = this.parseClassCharacter();
+                item                  = new RegexNode(this.source, Type.RANGE, item.getStartOffset(), this.position, Arrays.asList(item, upper));
+            }
+            items.add(item);
+        }
+        if (this.position < this.length) {
+            ++this.position;
+        }
+
+        final RegexNode result = new RegexNode(this.source, Type.CLASS, start, this.position, items);
+        result.isNegated       = negated;
+        return result;
+    }
+
+    @NotNull
+    private RegexNode parseClassCharacter() {
+        final char current = this.source.charAt(this.position);
+        if (current == '\\') {
+            return this.parseEscape(true);
+        }
+        return this.createLeaf(Type.LITERAL, this.position++, current);
+    }
+
+    @NotNull
+    private RegexNode parseEscape(boolean isInClass) {
+        final int start = this.position++;
+        if (this.position >= this.length) {
+            return this.createLeaf(Type.LITERAL, start, '\\');
+        }
+
+        final char escaped = this.source.charAt(this.position++);
+        if (!isInClass && escaped >= '1' && escaped <= '9') {
+            while (this.position < this.length && Character.isDigit(this.source.charAt(this.position))) {
+                ++this.position;
+            }
+            return this.createLeaf(Type.BACK_REFERENCE, start, escaped);
+        }
+        switch (escaped) {
+            case 'g':
+            case 'k':
+                if (!isInClass) {
+                    this.skipReferenceName();
+                    return this.createLeaf(Type.BACK_REFERENCE, start, escaped);
+                }
+                break;
+            case 'p':
+            case 'P':
+            case 'x':
+            case 'o':
+                if (this.position < this.length && this.source.charAt(this.position) == '{') {
+                    this.skipAfter('}');
+                } else if (escaped == 'p' || escaped == 'P') {
+                    this.position = Math.min(this.position + 1, this.length);
+                } else if (escaped == 'x') {
+                    final int limit = Math.min(this.position + 2, this.length);
+                    while (this.position < limit && Character.digit(this.source.charAt(this.position), 16) != -1) {
+                        ++this.position;
+                    }
+                }
+                break;
+            case 'c':
+                this.position = Math.min(this.position + 1, this.length);
+                break;
+            case 'Q':
+                /* quoted sequence is a literal, quantifiers are applied to it as a whole here */
+                final int quoteEnd = this.source.indexOf("\\E", this.position);
+                this.position      = quoteEnd == -1 ? this.length : quoteEnd + 2;
+                return this.createLeaf(Type.LITERAL, start, escaped);
+            default:
+                break;
+        }
+        return this.createLeaf(Type.ESCAPE, start, escaped);
+    }
+
+    private void skipReferenceName() {
+        if (this.position < this.length) {
+            final char opening = this.source.charAt(this.position);
+            final char closing = opening == '{' ? '}' : (opening == '<' ? '>' : (opening == '\'' ? '\'' : 0));
+            if (closing != 0) {
+                ++this.position;
+                this.skipAfter(closing);
+            } else {
+                if (opening == '-' || opening == '+') {
+                    ++this.position;
+                }
+                while (this.position < this.length && Character.isDigit(this.source.charAt(this.position))) {
+                    ++this.position;
+                }
+            }
+        }
+    }
+
+    private void skipAfter(char character) {
+        final int index = this.source.indexOf(character, this.position);
+        this.position   = index == -1 ? this.length : index + 1;
+    }
+
+    @NotNull
+    private RegexNode createLeaf(@NotNull Type type, int start, char value) {
+        final RegexNode leaf = new RegexNode(this.source, type, start, this.position, Collections.emptyList());
+        leaf.value           = value;
+        return leaf;
+    }
+}
@@ -1,19 +1,17 @@
 package com.kalessil.phpStorm.phpInspectionsEA.inspectors.security;
 
-import com.intellij.codeInspection.LocalInspectionTool;
 import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.codeInspection.ProblemsHolder;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiElementVisitor;
 import com.jetbrains.php.lang.psi.elements.*;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpElementVisitor;
+import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpInspection;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.OpenapiTypesUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.PhpLanguageUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.PossibleValuesDiscoveryUtil;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Set;
-
 /*
  * This file is part of the Php Inspections (EA Extended) package.
  *
@@ -23,7 +21,7 @@ import java.util.Set;
  * file that was distributed with this source code.
  */
 
-public class CurlSslServerSpoofingInspector extends LocalInspectionTool {
+public class CurlSslServerSpoofingInspector extends BasePhpInspection {
     private static final String messageVerifyHost = "Exposes a connection to MITM attacks. Use 2 (default) to stay safe.";
     private static final String messageVerifyPeer = "Exposes a connection to MITM attacks. Use true (default) to stay safe.";
 
@@ -117,8 +115,8 @@ public class CurlSslServerSpoofingInspector extends LocalInspectionTool {
             private boolean isHostVerifyDisabled(@NotNull PsiElement value) {
                 boolean result = false;
 
-                final Set<PsiElement> discovered = PossibleValuesDiscoveryUtil.discover(value);
-                if (!discovered.isEmpty()) {
+                final PsiElement[] discovered = PossibleValuesDiscoveryUtil.discoverValues(value);
+                if (discovered.length > 0) {
                     int countDisables = 0;
                     int countEnables  = 0;
 
@@ -141,7 +139,6 @@ public class CurlSslServerSpoofingInspector extends LocalInspectionTool {
                             }
                         }
                     }
-                    discovered.clear();
 
                     result = countDisables > 0 && countEnables == 0;
                 }
@@ -152,8 +149,8 @@ public class CurlSslServerSpoofingInspector extends LocalInspectionTool {
             private boolean isPeerVerifyDisabled(@NotNull PsiElement value) {
                 boolean result = false;
 
-                final Set<PsiElement> discovered = PossibleValuesDiscoveryUtil.discover(value);
-                if (!discovered.isEmpty()) {
+                final PsiElement[] discovered = PossibleValuesDiscoveryUtil.discoverValues(value);
+                if (discovered.length > 0) {
                     int countDisables = 0;
                     int countEnables  = 0;
 
@@ -182,7 +179,6 @@ public class CurlSslServerSpoofingInspector extends LocalInspectionTool {
                         }
                         /* other expressions are not supported currently */
                     }
-                    discovered.clear();
 
                     result = countDisables > 0 && countEnables == 0;
                 }
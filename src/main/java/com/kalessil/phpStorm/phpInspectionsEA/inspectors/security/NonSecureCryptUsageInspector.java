@@ -24,8 +24,6 @@ import com.kalessil.phpStorm.phpInspectionsEA.utils.PossibleValuesDiscoveryUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Set;
-
 public class NonSecureCryptUsageInspector extends BasePhpInspection {
     private static final String messageWeakSalt     = "A weak hash generated, consider providing '$2y$<cost and salt>' (Blowfish) as the second argument.";
     private static final String messageInsecureSalt = "'$2y$<cost and salt>' should be used in preference to insecure '$2a$<cost and salt>'.";
@@ -86,16 +84,13 @@ public class NonSecureCryptUsageInspector extends BasePhpInspection {
             @Nullable
             private String resolveSalt(@NotNull PsiElement expression) {
                 /* collect possible value for further analysis */
-                final Set<PsiElement> discovered = PossibleValuesDiscoveryUtil.discover(expression);
-                if (discovered.size() != 1) {
-                    discovered.clear();
+                final PsiElement saltExpression = PossibleValuesDiscoveryUtil.discoverSingle(expression);
+                if (saltExpression == null) {
                     return null;
                 }
 
                 /* simplify workflow by handling one expression */
-                final PsiElement saltExpression       = discovered.iterator().next();
                 final StringBuilder resolvedSaltValue = new StringBuilder();
-                discovered.clear();
 
                 /*  resolve string literals and concatenations */
                 PsiElement current = saltExpression;
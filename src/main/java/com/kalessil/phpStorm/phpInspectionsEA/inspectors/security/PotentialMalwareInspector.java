@@ -1,18 +1,21 @@
 package com.kalessil.phpStorm.phpInspectionsEA.inspectors.security;
 
-import com.intellij.codeInspection.LocalInspectionTool;
 import com.intellij.codeInspection.ProblemsHolder;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiElementVisitor;
 import com.jetbrains.php.lang.lexer.PhpTokenTypes;
 import com.jetbrains.php.lang.psi.elements.*;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpElementVisitor;
+import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpInspection;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.ExpressionSemanticUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.NamedElementUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.OpenapiTypesUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.PossibleValuesDiscoveryUtil;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.SignaturesMatcher;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -25,7 +28,7 @@ import java.util.Set;
  * file that was distributed with this source code.
  */
 
-public class PotentialMalwareInspector extends LocalInspectionTool {
+public class PotentialMalwareInspector extends BasePhpInspection {
     private static final String messageEval     = "This eval looks pretty much as some malware.";
     private static final String messageFileHide = "This looks pretty much as some malware hiding files manipulation.";
     private static final String messageDecode   = "This function looks pretty much as part of some malware.";
@@ -33,6 +36,8 @@ public class PotentialMalwareInspector extends LocalInspectionTool {
 
     private static final HashSet<String> evalSuspects   = new HashSet<>();
     private static final HashSet<String> decodeSuspects = new HashSet<>();
+    private static final Set<String> functions          = new HashSet<>();
+    private static final SignaturesMatcher signatures;
     static {
         evalSuspects.add("base64_decode");
         evalSuspects.add("gzinflate");
@@ -49,6 +54,14 @@ public class PotentialMalwareInspector extends LocalInspectionTool {
         decodeSuspects.add("gzuncompress");
         decodeSuspects.add("urldecode");
         decodeSuspects.add("curl_unescape");
+
+        functions.add("touch");
+        functions.add("get_defined_functions");
+
+        /* reported patterns have one of these in the file content, except variable calls with values from other files */
+        final Set<String> markers = new HashSet<>(Arrays.asList("eval", "touch", "get_defined_functions"));
+        markers.addAll(decodeSuspects);
+        signatures = new SignaturesMatcher(markers);
     }
 
     @NotNull
@@ -63,9 +76,21 @@ public class PotentialMalwareInspector extends LocalInspectionTool {
         return "Basic malware patterns";
     }
 
+    @Nullable
+    @Override
+    public Set<String> getTargetFunctions() {
+        return functions;
+    }
+
     @Override
     @NotNull
     public PsiElementVisitor buildVisitor(@NotNull final ProblemsHolder holder, boolean isOnTheFly) {
+        /* single-pass pre-scan of the raw file content: files without any signature are not getting PSI-level analysis */
+        final CharSequence content = holder.getFile().getViewProvider().getContents();
+        if (!signatures.containsAny(content) && !hasVariableCalls(content)) {
+            return PsiElementVisitor.EMPTY_VISITOR;
+        }
+
         return new BasePhpElementVisitor() {
             @Override
             public void visitPhpFunctionCall(@NotNull FunctionReference reference) {
@@ -162,7 +187,6 @@ public class PotentialMalwareInspector extends LocalInspectionTool {
                 }
                 final FunctionReference call = (FunctionReference) returnArgument;
 
-
                 /* Case 1: analyze implicit function call */
                 final String callName = call.getName();
                 if (callName != null && decodeSuspects.contains(callName.toLowerCase())) {
@@ -170,13 +194,12 @@ public class PotentialMalwareInspector extends LocalInspectionTool {
                     return;
                 }
 
-
                 /* Case 2: analyze variable function call */
                 if (!(call.getFirstPsiChild() instanceof Variable)) {
                     return;
                 }
-                final Set<PsiElement> values = PossibleValuesDiscoveryUtil.discover(call.getFirstPsiChild());
-                if (!values.isEmpty()) {
+                final PsiElement[] values = PossibleValuesDiscoveryUtil.discoverValues(call.getFirstPsiChild());
+                if (values.length > 0) {
                     for (final PsiElement value : values) {
                         if (value instanceof StringLiteralExpression) {
                             final String name = ((StringLiteralExpression) value).getContents().toLowerCase();
@@ -186,9 +209,35 @@ public class PotentialMalwareInspector extends LocalInspectionTool {
                             }
                         }
                     }
-                    values.clear();
                 }
             }
         };
     }
+
+    /* `$name(` sequences: decoders names of variable calls can be discovered in constants and fields declared elsewhere */
+    private static boolean hasVariableCalls(@NotNull CharSequence content) {
+        final int length = content.length();
+        for (int index = 0; index < length; ++index) {
+            if (content.charAt(index) == '$') {
+                int position = index + 1;
+                while (position < length && isIdentifierPart(content.charAt(position))) {
+                    ++position;
+                }
+                if (position > index + 1) {
+                    while (position < length && Character.isWhitespace(content.charAt(position))) {
+                        ++position;
+                    }
+                    if (position < length && content.charAt(position) == '(') {
+                        return true;
+                    }
+                }
+                index = position - 1;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isIdentifierPart(char character) {
+        return character == '_' || character >= 0x80 || Character.isLetterOrDigit(character);
+    }
 }
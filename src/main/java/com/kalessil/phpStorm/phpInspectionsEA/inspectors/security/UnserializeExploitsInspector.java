@@ -1,6 +1,5 @@
 package com.kalessil.phpStorm.phpInspectionsEA.inspectors.security;
 
-import com.intellij.codeInspection.LocalInspectionTool;
 import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.codeInspection.ProblemsHolder;
 import com.intellij.psi.PsiElement;
@@ -10,6 +9,7 @@ import com.jetbrains.php.lang.psi.elements.ArrayCreationExpression;
 import com.jetbrains.php.lang.psi.elements.FunctionReference;
 import com.jetbrains.php.lang.psi.elements.Variable;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpElementVisitor;
+import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpInspection;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.PhpLanguageLevel;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.OpenapiTypesUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.PhpLanguageUtil;
@@ -27,7 +27,7 @@ import java.util.*;
  * file that was distributed with this source code.
  */
 
-public class UnserializeExploitsInspector extends LocalInspectionTool {
+public class UnserializeExploitsInspector extends BasePhpInspection {
     private static final String messageUseSecondArgument = "Please specify classes allowed for unserialization in 2nd argument.";
     private static final String messagePattern           = "Perhaps it's possible to exploit the unserialize via: %e%.";
 
@@ -88,8 +88,8 @@ public class UnserializeExploitsInspector extends LocalInspectionTool {
             }
 
             private void inspectExploits(@NotNull ProblemsHolder holder, @NotNull PsiElement argument) {
-                final Set<PsiElement> values = PossibleValuesDiscoveryUtil.discover(argument);
-                if (!values.isEmpty()) {
+                final PsiElement[] values = PossibleValuesDiscoveryUtil.discoverValues(argument);
+                if (values.length > 0) {
                     final List<String> reporting = new ArrayList<>();
                     for (PsiElement value : values) {
                         if (OpenapiTypesUtil.isFunctionReference(value)) {
@@ -119,7 +119,6 @@ public class UnserializeExploitsInspector extends LocalInspectionTool {
 
                         /* other expressions are not supported currently */
                     }
-                    values.clear();
 
                     /* got something for reporting */
                     if (!reporting.isEmpty()) {
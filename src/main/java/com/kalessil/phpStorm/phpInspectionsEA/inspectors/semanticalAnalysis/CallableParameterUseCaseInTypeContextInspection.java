@@ -324,10 +324,7 @@ public class CallableParameterUseCaseInTypeContextInspection extends BasePhpInsp
                 final Set<String> possibleTypes = new HashSet<>();
                 if (type.startsWith("\\")) {
                     index.getAnyByFQN(type)
-                        .forEach(clazz ->
-                            InterfacesExtractUtil.getCrawlInheritanceTree(clazz, true)
-                                .forEach(c -> possibleTypes.add(c.getFQN()))
-                        );
+                        .forEach(clazz -> possibleTypes.addAll(InterfacesExtractUtil.getCrawlInheritanceTreeFqns(clazz, true)));
                 }
 
                 return !possibleTypes.isEmpty() && allowedTypes.stream().anyMatch(possibleTypes::contains);
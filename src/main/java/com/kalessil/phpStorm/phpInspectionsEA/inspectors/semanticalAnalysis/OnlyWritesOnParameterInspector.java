@@ -6,8 +6,6 @@ import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.PsiWhiteSpace;
 import com.intellij.psi.util.PsiTreeUtil;
-import com.jetbrains.php.codeInsight.PhpScopeHolder;
-import com.jetbrains.php.codeInsight.controlFlow.PhpControlFlowUtil;
 import com.jetbrains.php.codeInsight.controlFlow.instructions.PhpAccessInstruction;
 import com.jetbrains.php.codeInsight.controlFlow.instructions.PhpAccessVariableInstruction;
 import com.jetbrains.php.lang.documentation.phpdoc.psi.PhpDocComment;
@@ -18,6 +16,7 @@ import com.kalessil.phpStorm.phpInspectionsEA.inspectors.ifs.utils.ExpressionCos
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpElementVisitor;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpInspection;
 import com.kalessil.phpStorm.phpInspectionsEA.options.OptionsComponent;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.DefUseChainsUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.ExpressionSemanticUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.OpenapiResolveUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.OpenapiTypesUtil;
@@ -353,15 +352,8 @@ public class OnlyWritesOnParameterInspector extends BasePhpInspection {
             }
 
             @NotNull
-            private PhpAccessVariableInstruction[] getVariableUsages(
-                    @NotNull String parameterName,
-                    @NotNull PhpScopeHolder scopeHolder
-            ) {
-                return PhpControlFlowUtil.getFollowingVariableAccessInstructions(
-                        scopeHolder.getControlFlow().getEntryPoint(),
-                        parameterName,
-                        false
-                );
+            private PhpAccessVariableInstruction[] getVariableUsages(@NotNull String parameterName, @NotNull Function function) {
+                return DefUseChainsUtil.getAccesses(function, parameterName);
             }
         };
     }
@@ -2,6 +2,8 @@ package com.kalessil.phpStorm.phpInspectionsEA.inspectors.semanticalAnalysis.bin
 
 import com.intellij.codeInspection.ProblemsHolder;
 import com.intellij.psi.PsiElementVisitor;
+import com.intellij.psi.tree.IElementType;
+import com.jetbrains.php.lang.lexer.PhpTokenTypes;
 import com.jetbrains.php.lang.psi.elements.BinaryExpression;
 import com.kalessil.phpStorm.phpInspectionsEA.inspectors.semanticalAnalysis.binaryOperations.strategy.*;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpElementVisitor;
@@ -11,8 +13,10 @@ import org.jetbrains.annotations.NotNull;
 
 import javax.swing.*;
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.function.BooleanSupplier;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
 
 /*
  * This file is part of the Php Inspections (EA Extended) package.
@@ -44,35 +48,69 @@ public class SuspiciousBinaryOperationInspector extends BasePhpInspection {
     @NotNull
     public PsiElementVisitor buildVisitor(@NotNull final ProblemsHolder holder, boolean isOnTheFly) {
         return new BasePhpElementVisitor() {
+            private final Map<IElementType, List<Predicate<BinaryExpression>>> strategies = buildStrategies(holder);
+
             @Override
             public void visitPhpBinaryExpression(@NotNull BinaryExpression expression) {
-                final Collection<BooleanSupplier> callbacks = new ArrayList<>();
-                callbacks.add(() -> InstanceOfTraitStrategy.apply(expression, holder));
-                callbacks.add(() -> EqualsInAssignmentContextStrategy.apply(expression, holder));
-                callbacks.add(() -> GreaterOrEqualInHashElementStrategy.apply(expression, holder));
-                callbacks.add(() -> NullableArgumentComparisonStrategy.apply(expression, holder));
-                callbacks.add(() -> IdenticalOperandsStrategy.apply(expression, holder));
-                callbacks.add(() -> MisplacedOperatorStrategy.apply(expression, holder));
-                callbacks.add(() -> NullCoalescingOperatorCorrectnessStrategy.apply(expression, holder));
-                callbacks.add(() -> ConcatenationWithArrayStrategy.apply(expression, holder));
-                if (VERIFY_CONSTANTS_IN_CONDITIONS) {
-                    callbacks.add(() -> HardcodedConstantValuesStrategy.apply(expression, holder));
-                }
-                if (VERIFY_UNCLEAR_OPERATIONS_PRIORITIES) {
-                    callbacks.add(() -> UnclearOperationsPriorityStrategy.apply(expression, holder));
-                }
-
-                /* run through strategies until the first one fired something */
-                for (final BooleanSupplier strategy: callbacks) {
-                    if (strategy.getAsBoolean()) {
-                        break;
+                final List<Predicate<BinaryExpression>> applicable = this.strategies.get(expression.getOperationType());
+                if (applicable != null) {
+                    /* run through strategies until the first one fired something */
+                    for (int index = 0, size = applicable.size(); index < size; ++index) {
+                        if (applicable.get(index).test(expression)) {
+                            break;
+                        }
                     }
                 }
-                callbacks.clear();
             }
         };
     }
 
+    /* strategies are indexed by operators they are handling, registration order is the reporting priority */
+    @NotNull
+    private Map<IElementType, List<Predicate<BinaryExpression>>> buildStrategies(@NotNull ProblemsHolder holder) {
+        final Map<IElementType, List<Predicate<BinaryExpression>>> strategies = new HashMap<>();
+        final IElementType[] comparisons = {
+                PhpTokenTypes.opEQUAL,   PhpTokenTypes.opNOT_EQUAL,         PhpTokenTypes.opIDENTICAL, PhpTokenTypes.opNOT_IDENTICAL,
+                PhpTokenTypes.opGREATER, PhpTokenTypes.opGREATER_OR_EQUAL, PhpTokenTypes.opLESS,      PhpTokenTypes.opLESS_OR_EQUAL
+        };
+
+        register(strategies, e -> InstanceOfTraitStrategy.apply(e, holder), PhpTokenTypes.kwINSTANCEOF);
+        register(strategies, e -> EqualsInAssignmentContextStrategy.apply(e, holder), PhpTokenTypes.opEQUAL);
+        register(strategies, e -> GreaterOrEqualInHashElementStrategy.apply(e, holder), PhpTokenTypes.opGREATER_OR_EQUAL);
+        register(strategies, e -> NullableArgumentComparisonStrategy.apply(e, holder), PhpTokenTypes.opLESS, PhpTokenTypes.opLESS_OR_EQUAL);
+        final Predicate<BinaryExpression> identicalOperands = e -> IdenticalOperandsStrategy.apply(e, holder);
+        register(strategies, identicalOperands, comparisons);
+        register(strategies, identicalOperands, PhpTokenTypes.kwINSTANCEOF);
+        register(strategies, e -> MisplacedOperatorStrategy.apply(e, holder), comparisons);
+        register(strategies, e -> NullCoalescingOperatorCorrectnessStrategy.apply(e, holder), PhpTokenTypes.opCOALESCE);
+        register(strategies, e -> ConcatenationWithArrayStrategy.apply(e, holder), PhpTokenTypes.opCONCAT);
+        if (VERIFY_CONSTANTS_IN_CONDITIONS) {
+            final Predicate<BinaryExpression> strategy = e -> HardcodedConstantValuesStrategy.apply(e, holder);
+            register(strategies, strategy, PhpTokenTypes.tsSHORT_CIRCUIT_AND_OPS.getTypes());
+            register(strategies, strategy, PhpTokenTypes.tsSHORT_CIRCUIT_OR_OPS.getTypes());
+        }
+        if (VERIFY_UNCLEAR_OPERATIONS_PRIORITIES) {
+            final Predicate<BinaryExpression> strategy = e -> UnclearOperationsPriorityStrategy.apply(e, holder);
+            register(strategies, strategy, PhpTokenTypes.opAND, PhpTokenTypes.opOR);
+            register(strategies, strategy, PhpTokenTypes.tsCOMPARE_OPS.getTypes());
+        }
+
+        return strategies;
+    }
+
+    private static void register(
+            @NotNull Map<IElementType, List<Predicate<BinaryExpression>>> strategies,
+            @NotNull Predicate<BinaryExpression> strategy,
+            @NotNull IElementType... operators
+    ) {
+        for (final IElementType operator : operators) {
+            final List<Predicate<BinaryExpression>> registered = strategies.computeIfAbsent(operator, key -> new ArrayList<>());
+            if (!registered.contains(strategy)) {
+                registered.add(strategy);
+            }
+        }
+    }
+
     public JComponent createOptionsPanel() {
         return OptionsComponent.create((component) -> {
             component.addCheckbox("Verify operations priorities", VERIFY_UNCLEAR_OPERATIONS_PRIORITIES, (isSelected) -> VERIFY_UNCLEAR_OPERATIONS_PRIORITIES = isSelected);
@@ -1,11 +1,14 @@
 package com.kalessil.phpStorm.phpInspectionsEA.inspectors.semanticalAnalysis.byReference;
 
 import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.openapi.project.Project;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.PsiWhiteSpace;
 import com.jetbrains.php.lang.lexer.PhpTokenTypes;
 import com.jetbrains.php.lang.psi.elements.*;
+import com.kalessil.phpStorm.phpInspectionsEA.indexers.CallableParameterMeta;
+import com.kalessil.phpStorm.phpInspectionsEA.indexers.NamedCallableParametersMetaIndexer;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpElementVisitor;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpInspection;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.PhpLanguageLevel;
@@ -16,7 +19,9 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -86,39 +91,75 @@ public class PassingByReferenceCorrectnessInspector extends BasePhpInspection {
             }
 
             private void analyze(@NotNull FunctionReference reference) {
-                final PsiElement resolved = OpenapiResolveUtil.resolveReference(reference);
-                if (resolved instanceof Function) {
-                    final Function function      = (Function) resolved;
-                    final Parameter[] parameters = function.getParameters();
-                    final PsiElement[] arguments = reference.getParameters();
-                    /* search for anomalies */
-                    for (int index = 0, max = Math.min(parameters.length, arguments.length); index < max; ++index) {
-                        if (parameters[index].isPassByRef()) {
-                            final PsiElement argument = arguments[index];
-                            if (argument instanceof FunctionReference && !this.isByReference(argument)) {
-                                final PsiElement inner = OpenapiResolveUtil.resolveReference((FunctionReference) argument);
-                                if (inner instanceof Function) {
-                                    final PsiElement name = NamedElementUtil.getNameIdentifier((Function) inner);
-                                    if (!this.isByReference(name)) {
-                                        holder.registerProblem(argument, message);
-                                    }
+                /* functions calls are looked up in the parameters meta index, resolving is a fallback */
+                boolean isGlobalFunction = false;
+                boolean[] byReference    = null;
+                if (OpenapiTypesUtil.isFunctionReference(reference)) {
+                    final String functionName = reference.getName();
+                    final Project project     = holder.getProject();
+                    String calledFqn          = reference.getFQN();
+                    List<List<CallableParameterMeta>> definitions
+                            = calledFqn == null ? Collections.emptyList() : NamedCallableParametersMetaIndexer.getDefinitions(calledFqn, project);
+                    if (definitions.isEmpty() && reference.getImmediateNamespaceName().isEmpty()) {
+                        /* unqualified calls of not defined namespaced functions are falling back to global ones */
+                        calledFqn   = '\\' + functionName;
+                        definitions = NamedCallableParametersMetaIndexer.getDefinitions(calledFqn, project);
+                    }
+                    if (definitions.size() == 1) {
+                        final List<CallableParameterMeta> parameters = definitions.get(0);
+                        byReference                                  = new boolean[parameters.size()];
+                        for (int index = 0; index < byReference.length; ++index) {
+                            byReference[index] = parameters.get(index).isPassByRef();
+                        }
+                        isGlobalFunction = calledFqn.equals('\\' + functionName);
+                    }
+                }
+                if (byReference == null) {
+                    final PsiElement resolved = OpenapiResolveUtil.resolveReference(reference);
+                    if (resolved instanceof Function) {
+                        final Function function      = (Function) resolved;
+                        final Parameter[] parameters = function.getParameters();
+                        byReference                  = new boolean[parameters.length];
+                        for (int index = 0; index < byReference.length; ++index) {
+                            byReference[index] = parameters[index].isPassByRef();
+                        }
+                        isGlobalFunction = function.getFQN().equals('\\' + function.getName());
+                    } else {
+                        return;
+                    }
+                }
+
+                /* search for anomalies */
+                final PsiElement[] arguments = reference.getParameters();
+                for (int index = 0, max = Math.min(byReference.length, arguments.length); index < max; ++index) {
+                    if (byReference[index]) {
+                        final PsiElement argument = arguments[index];
+                        if (argument instanceof FunctionReference && !this.isByReference(argument)) {
+                            final PsiElement inner = OpenapiResolveUtil.resolveReference((FunctionReference) argument);
+                            if (inner instanceof Function) {
+                                final PsiElement name = NamedElementUtil.getNameIdentifier((Function) inner);
+                                if (!this.isByReference(name)) {
+                                    holder.registerProblem(argument, message);
                                 }
-                            } else if (argument instanceof NewExpression) {
-                                holder.registerProblem(argument, message);
                             }
+                        } else if (argument instanceof NewExpression) {
+                            holder.registerProblem(argument, message);
                         }
                     }
-                    /* remember global functions without references */
-                    if (parameters.length > 0 && OpenapiTypesUtil.isFunctionReference(reference)) {
-                        final boolean hasReferences = Arrays.stream(parameters).anyMatch(Parameter::isPassByRef);
-                        if (!hasReferences) {
-                            final String functionName         = function.getName();
-                            final boolean isFromRootNamespace = function.getFQN().equals('\\' + functionName);
-                            if (isFromRootNamespace) {
-                                skippedFunctionsCache.putIfAbsent(functionName, functionName);
-                            }
+                }
+                /* remember global functions without references */
+                if (byReference.length > 0 && isGlobalFunction && OpenapiTypesUtil.isFunctionReference(reference)) {
+                    boolean hasReferences = false;
+                    for (final boolean flag : byReference) {
+                        if (flag) {
+                            hasReferences = true;
+                            break;
                         }
                     }
+                    if (!hasReferences) {
+                        final String functionName = reference.getName();
+                        skippedFunctionsCache.putIfAbsent(functionName, functionName);
+                    }
                 }
             }
 
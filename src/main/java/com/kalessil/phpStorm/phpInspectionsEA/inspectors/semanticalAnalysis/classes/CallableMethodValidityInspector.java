@@ -15,8 +15,6 @@ import com.kalessil.phpStorm.phpInspectionsEA.utils.Types;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Set;
-
 /*
  * This file is part of the Php Inspections (EA Extended) package.
  *
@@ -52,15 +50,13 @@ public class CallableMethodValidityInspector extends BasePhpInspection {
                 if (functionName != null && functionName.equals("is_callable")) {
                     final PsiElement[] arguments = reference.getParameters();
                     if (arguments.length == 1) {
-                        final Set<PsiElement> values = PossibleValuesDiscoveryUtil.discover(arguments[0]);
-                        final PsiElement callable    = values.size() == 1 ? values.iterator().next() : null;
+                        final PsiElement callable = PossibleValuesDiscoveryUtil.discoverSingle(arguments[0]);
                         if (callable != null && this.isTarget(callable)) {
                             final PsiReference resolver = this.buildResolver(callable);
                             if (resolver != null) {
                                 this.analyzeValidity(resolver.resolve(), arguments[0], callable);
                             }
                         }
-                        values.clear();
                     }
                 }
             }
@@ -14,6 +14,7 @@ import com.kalessil.phpStorm.phpInspectionsEA.options.OptionsComponent;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.ExpressionSemanticUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.NamedElementUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.OpenapiResolveUtil;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.hierarhy.MemberOverridesUtil;
 import org.jetbrains.annotations.NotNull;
 
 import javax.swing.*;
@@ -74,9 +75,14 @@ public class ClassOverridesFieldOfSuperClassInspector extends BasePhpInspection
                     return;
                 }
 
-                final PhpClass parent     = OpenapiResolveUtil.resolveSuperClass(clazz);
+                /* the field is not declared anywhere else: nothing to shadow, hierarchy resolving is not needed */
                 final String ownFieldName = ownField.getName();
-                final Field parentField   = parent == null ? null : OpenapiResolveUtil.resolveField(parent, ownFieldName);
+                if (!MemberOverridesUtil.isFieldDeclaredElsewhere(clazz, ownFieldName)) {
+                    return;
+                }
+
+                final PhpClass parent   = OpenapiResolveUtil.resolveSuperClass(clazz);
+                final Field parentField = parent == null ? null : OpenapiResolveUtil.resolveField(parent, ownFieldName);
                 if (parentField != null) {
                     final PhpClass parentFieldHolder = parentField.getContainingClass();
                     final PsiElement fieldNameNode   = NamedElementUtil.getNameIdentifier(ownField);
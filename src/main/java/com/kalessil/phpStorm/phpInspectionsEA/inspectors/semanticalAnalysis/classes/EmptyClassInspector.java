@@ -59,8 +59,7 @@ public class EmptyClassInspector extends BasePhpInspection {
                     if (parent != null) {
                         /* inheriting abstract classes - we can be forced to have it empty */
                         result = parent.isAbstract() ||
-                                 InterfacesExtractUtil.getCrawlInheritanceTree(clazz, true).stream()
-                                         .anyMatch(c -> c.getFQN().equals("\\Exception"));
+                                 InterfacesExtractUtil.getCrawlInheritanceTreeFqns(clazz, true).contains("\\Exception");
                     }
                 }
                 return result;
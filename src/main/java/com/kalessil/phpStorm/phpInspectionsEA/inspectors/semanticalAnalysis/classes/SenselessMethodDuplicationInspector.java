@@ -6,12 +6,15 @@ import com.intellij.codeInspection.ProblemsHolder;
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiElementVisitor;
+import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.indexing.FileBasedIndex;
 import com.jetbrains.php.lang.documentation.phpdoc.psi.PhpDocComment;
 import com.jetbrains.php.lang.psi.PhpPsiElementFactory;
 import com.jetbrains.php.lang.psi.elements.*;
 import com.jetbrains.php.lang.psi.resolve.types.PhpType;
 import com.kalessil.phpStorm.phpInspectionsEA.fixers.DropMethodFix;
+import com.kalessil.phpStorm.phpInspectionsEA.indexers.MethodBodyFingerprintIndexer;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpElementVisitor;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpInspection;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.*;
@@ -30,11 +33,12 @@ import java.util.*;
 
 public class SenselessMethodDuplicationInspector extends BasePhpInspection {
     // configuration flags automatically saved by IDE
-    public int MAX_METHOD_SIZE = 20;
-    /* TODO: configurable via drop-down; clean code: 20 lines/method; PMD: 50; Checkstyle: 100 */
+    public int MAX_METHOD_SIZE = 100;
+    /* different bodies are rejected by fingerprints before comparing PSI, hence the generous size limit */
 
     private static final String messagePatternIdentical = "'%s' method can be dropped, as it identical to parent's one.";
     private static final String messagePatternProxy     = "'%s' method should call parent's one instead of duplicating code.";
+    private static final String messagePatternTrait     = "'%s' method can be dropped, as it identical to trait's one.";
 
     @NotNull
     @Override
@@ -70,12 +74,21 @@ public class SenselessMethodDuplicationInspector extends BasePhpInspection {
                     return;
                 }
 
-                /* ensure parent, parent methods are existing and contains the same amount of expressions */
-                final PhpClass parent           = OpenapiResolveUtil.resolveSuperClass(clazz);
-                final Method parentMethod       = null == parent ? null : OpenapiResolveUtil.resolveMethod(parent, method.getName());
+                /* ensure the method taking over after dropping this one exists and contains the same amount of expressions */
+                final List<Method> traitsMethods = this.getUsedTraitsMethods(clazz, method.getName());
+                if (traitsMethods.size() > 1) {
+                    /* conflicting traits methods are resolved with `insteadof` and aliases, not handled here */
+                    return;
+                }
+                final Method traitMethod  = traitsMethods.isEmpty() ? null : traitsMethods.get(0);
+                final PhpClass parent     = traitMethod == null ? OpenapiResolveUtil.resolveSuperClass(clazz) : null;
+                final Method parentMethod = parent == null ? traitMethod : OpenapiResolveUtil.resolveMethod(parent, method.getName());
                 if (parentMethod == null || parentMethod.isAbstract() || parentMethod.isDeprecated() || parentMethod.getModifier().isPrivate()) {
                     return;
                 }
+                if (!this.isSameFingerprint(body, parentMethod)) {
+                    return;
+                }
                 final GroupStatement parentBody = ExpressionSemanticUtil.getGroupStatement(parentMethod);
                 if (parentBody == null || ExpressionSemanticUtil.countExpressionsInGroup(parentBody) != countExpressions) {
                     return;
@@ -116,7 +129,16 @@ public class SenselessMethodDuplicationInspector extends BasePhpInspection {
                 final PsiElement methodName = NamedElementUtil.getNameIdentifier(method);
                 if (methodName != null && !this.isOperatingOnPrivateMembers(parentMethod)) {
                     final boolean canFix = !parentMethod.getAccess().isPrivate();
-                    if (method.getAccess().equals(parentMethod.getAccess())) {
+                    if (traitMethod != null) {
+                        /* no proxy calls for traits methods: the trait one is overridden by this method */
+                        if (method.getAccess().equals(traitMethod.getAccess())) {
+                            holder.registerProblem(
+                                    methodName,
+                                    String.format(messagePatternTrait, method.getName()),
+                                    new DropMethodFix()
+                            );
+                        }
+                    } else if (method.getAccess().equals(parentMethod.getAccess())) {
                         holder.registerProblem(
                                 methodName,
                                 String.format(messagePatternIdentical, method.getName()),
@@ -132,6 +154,36 @@ public class SenselessMethodDuplicationInspector extends BasePhpInspection {
                 }
             }
 
+            /*
+             * Own methods are overriding the used traits ones, which are overriding the inherited ones: dropping the method
+             * activates the used trait method or, if there is none, the nearest one in the parent chain (its traits included).
+             * Other methods up in the hierarchy are not taking over, hence are not compared.
+             */
+            @NotNull
+            private List<Method> getUsedTraitsMethods(@NotNull PhpClass clazz, @NotNull String methodName) {
+                final List<Method> result = new ArrayList<>();
+                for (final PhpClass trait : clazz.getTraits()) {
+                    final Method candidate = OpenapiResolveUtil.resolveMethod(trait, methodName);
+                    if (candidate != null) {
+                        result.add(candidate);
+                    }
+                }
+                return result;
+            }
+
+            private boolean isSameFingerprint(@NotNull GroupStatement body, @NotNull Method parentMethod) {
+                /* the method taking over (it can be inherited or used from a trait) body fingerprint is taken from index */
+                final List<Integer> fingerprints = FileBasedIndex.getInstance().getValues(
+                        MethodBodyFingerprintIndexer.identity,
+                        parentMethod.getFQN(),
+                        GlobalSearchScope.allScope(holder.getProject())
+                );
+                final boolean result = fingerprints.isEmpty() || fingerprints.contains(OpenapiEquivalenceUtil.getFingerprint(body));
+                fingerprints.clear();
+
+                return result;
+            }
+
             private Collection<String> getUsedReferences(@NotNull GroupStatement body) {
                 final Set<String> fqns = new HashSet<>();
                 for (final PhpReference reference : PsiTreeUtil.findChildrenOfAnyType(body, ClassReference.class, ConstantReference.class, FunctionReference.class)) {
@@ -8,6 +8,7 @@ import com.jetbrains.php.lang.documentation.phpdoc.psi.tags.PhpDocTag;
 import com.jetbrains.php.lang.psi.elements.*;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpElementVisitor;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpInspection;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.ChildrenIndexUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.ExpressionSemanticUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.OpenapiResolveUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.OpenapiTypesUtil;
@@ -64,7 +65,7 @@ public class UnusedConstructorDependenciesInspector extends BasePhpInspection {
             private Map<String, List<FieldReference>> getFieldReferences(@NotNull Method method, @NotNull Map<String, Field> privateFields) {
                 final Map<String, List<FieldReference>> filteredReferences = new HashMap<>();
                 if (!method.isAbstract()) {
-                    final Collection<FieldReference> references = PsiTreeUtil.findChildrenOfType(method, FieldReference.class);
+                    final Collection<FieldReference> references = ChildrenIndexUtil.findChildrenOfType(method, FieldReference.class);
                     for (final FieldReference ref : references) {
                         final String fieldName = ref.getName();
                         if (fieldName != null && privateFields.containsKey(fieldName)) {
@@ -74,7 +75,6 @@ public class UnusedConstructorDependenciesInspector extends BasePhpInspection {
                             }
                         }
                     }
-                    references.clear();
                 }
                 return filteredReferences;
             }
@@ -12,7 +12,6 @@ import com.jetbrains.php.lang.documentation.phpdoc.psi.PhpDocVariable;
 import com.jetbrains.php.lang.documentation.phpdoc.psi.tags.PhpDocTag;
 import com.jetbrains.php.lang.lexer.PhpTokenTypes;
 import com.jetbrains.php.lang.psi.elements.*;
-import com.jetbrains.php.lang.psi.resolve.types.PhpType;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.*;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -32,12 +31,7 @@ import java.util.stream.Collectors;
 final public class NullableVariablesStrategy {
     private static final String message = "Null pointer exception may occur here.";
 
-    private static final Set<String> objectTypes = new HashSet<>();
-    static {
-        objectTypes.add(Types.strSelf);
-        objectTypes.add(Types.strStatic);
-        objectTypes.add(Types.strObject);
-    }
+    private static final int objectTypes = TypeSet.SELF | TypeSet.STATIC | TypeSet.OBJECT;
 
     final private static Condition<PsiElement> PARENT_FUNCTION = new Condition<PsiElement>() {
         public boolean value(PsiElement element) { return element instanceof Function; }
@@ -50,7 +44,7 @@ final public class NullableVariablesStrategy {
             /* group variables assignments, except parameters */
             final Set<String> parameters = Arrays.stream(function.getParameters()).map(Parameter::getName).collect(Collectors.toSet());
             final Map<String, List<AssignmentExpression>> assignments = new HashMap<>();
-            for (final Variable variable : PsiTreeUtil.findChildrenOfType(body, Variable.class)) {
+            for (final Variable variable : ChildrenIndexUtil.findChildrenOfType(body, Variable.class)) {
                 final String variableName = variable.getName();
                 final PsiElement parent   = variable.getParent();
                 if (parent instanceof AssignmentExpression && !parameters.contains(variableName)) {
@@ -91,18 +85,10 @@ final public class NullableVariablesStrategy {
         final PsiElement assignmentValue = assignment.getValue();
         /* primary strategy: resolve types and check nullability */
         if (assignmentValue instanceof PhpTypedElement) {
-            final PhpType resolved = OpenapiResolveUtil.resolveType((PhpTypedElement) assignmentValue, project);
-            if (resolved != null) {
-                final Set<String> types = new HashSet<>();
-                resolved.filterUnknown().getTypes().forEach(t -> types.add(Types.getType(t)));
-                if (types.contains(Types.strNull) || types.contains(Types.strVoid)) {
-                    types.remove(Types.strNull);
-                    types.remove(Types.strVoid);
-                    if (!types.isEmpty()) {
-                        result = types.stream().noneMatch(t -> !t.startsWith("\\") && !objectTypes.contains(t));
-                    }
-                }
-                types.clear();
+            final TypeSet resolved = OpenapiResolveUtil.resolveTypeSet((PhpTypedElement) assignmentValue, project);
+            if (resolved.hasAny(TypeSet.NULL | TypeSet.VOID)) {
+                final TypeSet types = resolved.without(TypeSet.NULL | TypeSet.VOID);
+                result              = !types.isEmpty() && types.hasOnly(objectTypes, true) && types.areClassesQualified();
             }
         }
         /* secondary strategy: support type specification with `@var <type> <variable>` */
@@ -131,24 +117,14 @@ final public class NullableVariablesStrategy {
         if (body != null) {
             final Set<PsiElement> processed = new HashSet<>();
             for (final Parameter parameter : function.getParameters()) {
-                final Set<String> declaredTypes = new HashSet<>();
-                OpenapiResolveUtil.resolveDeclaredType(parameter).getTypes().forEach(t -> declaredTypes.add(Types.getType(t)));
-                if (declaredTypes.contains(Types.strNull) || PhpLanguageUtil.isNull(parameter.getDefaultValue())) {
-                    declaredTypes.remove(Types.strNull);
-
-                    boolean isObject = !declaredTypes.isEmpty();
-                    for (final String type : declaredTypes) {
-                        if (!type.startsWith("\\") && !objectTypes.contains(type)) {
-                            isObject = false;
-                            break;
-                        }
-                    }
-
+                final TypeSet declaredTypes = TypeSet.of(OpenapiResolveUtil.resolveDeclaredType(parameter));
+                if (declaredTypes.isNullable() || PhpLanguageUtil.isNull(parameter.getDefaultValue())) {
+                    final TypeSet types    = declaredTypes.withoutNull();
+                    final boolean isObject = !types.isEmpty() && types.hasOnly(objectTypes, true) && types.areClassesQualified();
                     if (isObject) {
                         apply(parameter.getName(), null, body, holder, processed);
                     }
                 }
-                declaredTypes.clear();
             }
             processed.clear();
         }
@@ -164,7 +140,7 @@ final public class NullableVariablesStrategy {
         /* find variable usages, control flow is not our friend here */
         final Function function        = (Function) body.getParent();
         final List<Variable> variables = new ArrayList<>();
-        PsiTreeUtil.findChildrenOfType(body, Variable.class).stream()
+        ChildrenIndexUtil.findChildrenOfType(body, Variable.class).stream()
                 .filter(variable  ->
                     variableName.equals(variable.getName()) && PsiTreeUtil.findFirstParent(variable, PARENT_FUNCTION) == function
                 )
@@ -173,16 +149,16 @@ final public class NullableVariablesStrategy {
                     if (parent instanceof AssignmentExpression) {
                         final List<Variable> currentUsages    = new ArrayList<>();
                         final AssignmentExpression assignment = (AssignmentExpression) parent;
-                        PsiTreeUtil.findChildrenOfType(assignment.getValue(), Variable.class).stream()
+                        ChildrenIndexUtil.findChildrenOfType(assignment.getValue(), Variable.class).stream()
                                 .filter(v -> variableName.equals(v.getName()))
                                 .forEach(currentUsages::add);
-                        PsiTreeUtil.findChildrenOfType(assignment, Variable.class).stream()
+                        ChildrenIndexUtil.findChildrenOfType(assignment, Variable.class).stream()
                                 .filter(v -> variableName.equals(v.getName()) && !currentUsages.contains(v))
                                 .forEach(currentUsages::add);
                         variables.addAll(currentUsages);
                         currentUsages.clear();
                     } else {
-                        PsiTreeUtil.findChildrenOfType(parent, Variable.class).stream()
+                        ChildrenIndexUtil.findChildrenOfType(parent, Variable.class).stream()
                                 .filter(v -> variableName.equals(v.getName()))
                                 .forEach(variables::add);
                     }
@@ -311,24 +287,15 @@ final public class NullableVariablesStrategy {
                     }
 
                     /* lookup types, if no null declarations - report class-only declarations */
-                    final Parameter parameter       = parameters[position];
-                    final Set<String> declaredTypes = new HashSet<>();
-                    OpenapiResolveUtil.resolveDeclaredType(parameter).getTypes().forEach(t -> declaredTypes.add(Types.getType(t)));
-                    if (!declaredTypes.contains(Types.strNull) && !PhpLanguageUtil.isNull(parameter.getDefaultValue())) {
-                        declaredTypes.remove(Types.strNull);
-
-                        boolean isObject = !declaredTypes.isEmpty();
-                        for (final String type : declaredTypes) {
-                            if (!type.startsWith("\\") && !objectTypes.contains(type)) {
-                                isObject = false;
-                                break;
-                            }
-                        }
+                    final Parameter parameter   = parameters[position];
+                    final TypeSet declaredTypes = TypeSet.of(OpenapiResolveUtil.resolveDeclaredType(parameter));
+                    if (!declaredTypes.isNullable() && !PhpLanguageUtil.isNull(parameter.getDefaultValue())) {
+                        final boolean isObject =
+                                !declaredTypes.isEmpty() && declaredTypes.hasOnly(objectTypes, true) && declaredTypes.areClassesQualified();
                         if (isObject && processed.add(variable)) {
                             holder.registerProblem(variable, message);
                         }
                     }
-                    declaredTypes.clear();
                 }
             }
         }
@@ -1,6 +1,56 @@
 package com.kalessil.phpStorm.phpInspectionsEA.openApi;
 
+import com.intellij.codeInspection.LocalInspectionToolSession;
+import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.psi.PsiElementVisitor;
+import com.intellij.psi.tree.IElementType;
 import com.jetbrains.php.lang.inspections.PhpInspection;
+import com.kalessil.phpStorm.phpInspectionsEA.profiling.InspectionsProfiler;
+import com.kalessil.phpStorm.phpInspectionsEA.profiling.ProfilingElementVisitor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Set;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
 
 public abstract class BasePhpInspection extends PhpInspection {
+    @NotNull
+    @Override
+    public PsiElementVisitor buildVisitor(
+            @NotNull ProblemsHolder holder,
+            boolean isOnTheFly,
+            @NotNull LocalInspectionToolSession session
+    ) {
+        final PsiElementVisitor visitor = super.buildVisitor(holder, isOnTheFly, session);
+        /* opt-in profiling: wraps the visitor only when the report location has been specified */
+        return InspectionsProfiler.isEnabled() && visitor != PsiElementVisitor.EMPTY_VISITOR
+                ? new ProfilingElementVisitor(this.getShortName(), visitor)
+                : visitor;
+    }
+
+    /* pre-filtering for the shared dispatching (see VisitorsDispatcher): null means all function calls are visited */
+    @Nullable
+    public Set<String> getTargetFunctions() {
+        return null;
+    }
+
+    /* pre-filtering for the shared dispatching: null means all method references are visited */
+    @Nullable
+    public Set<String> getTargetMethods() {
+        return null;
+    }
+
+    /* pre-filtering for the shared dispatching: null means all binary expressions are visited */
+    @Nullable
+    public Set<IElementType> getTargetOperators() {
+        return null;
+    }
 }
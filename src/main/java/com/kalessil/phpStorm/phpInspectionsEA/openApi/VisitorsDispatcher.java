@@ -0,0 +1,90 @@
+package com.kalessil.phpStorm.phpInspectionsEA.openApi;
+
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiElementVisitor;
+import com.intellij.psi.tree.IElementType;
+import com.jetbrains.php.lang.psi.elements.BinaryExpression;
+import com.jetbrains.php.lang.psi.elements.FunctionReference;
+import com.jetbrains.php.lang.psi.elements.MethodReference;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/**
+ * Fans elements out to multiple inspections visitors, routing function calls, method references and binary
+ * expressions only to visitors which inspections declared interest in the name/operator (BasePhpInspection.getTarget*).
+ * Routing costs a single hash lookup per element, regardless of amount of registered visitors.
+ */
+final public class VisitorsDispatcher extends PsiElementVisitor {
+    private final List<PsiElementVisitor> visitors = new ArrayList<>();
+    private final Route<String> functions          = new Route<>();
+    private final Route<String> methods            = new Route<>();
+    private final Route<IElementType> operators    = new Route<>();
+
+    public void register(@NotNull BasePhpInspection inspection, @NotNull PsiElementVisitor visitor) {
+        if (visitor != PsiElementVisitor.EMPTY_VISITOR) {
+            this.visitors.add(visitor);
+            this.functions.register(inspection.getTargetFunctions(), visitor);
+            this.methods.register(inspection.getTargetMethods(), visitor);
+            this.operators.register(inspection.getTargetOperators(), visitor);
+        }
+    }
+
+    public boolean isEmpty() {
+        return this.visitors.isEmpty();
+    }
+
+    @Override
+    public void visitElement(@NotNull PsiElement element) {
+        final List<PsiElementVisitor> targets;
+        if (element instanceof MethodReference) {
+            targets = this.methods.find(((MethodReference) element).getName());
+        } else if (element instanceof FunctionReference) {
+            targets = this.functions.find(((FunctionReference) element).getName());
+        } else if (element instanceof BinaryExpression) {
+            targets = this.operators.find(((BinaryExpression) element).getOperationType());
+        } else {
+            targets = this.visitors;
+        }
+        for (int index = 0, size = targets.size(); index < size; ++index) {
+            element.accept(targets.get(index));
+        }
+    }
+
+    private static final class Route<T> {
+        /* visitors without filters are included into every list, so the registration order is preserved */
+        private final List<PsiElementVisitor> unfiltered    = new ArrayList<>();
+        private final Map<T, List<PsiElementVisitor>> byKey = new HashMap<>();
+
+        private void register(@Nullable Set<T> keys, @NotNull PsiElementVisitor visitor) {
+            if (keys == null) {
+                this.unfiltered.add(visitor);
+                this.byKey.values().forEach(list -> list.add(visitor));
+            } else {
+                for (final T key : keys) {
+                    this.byKey.computeIfAbsent(key, k -> new ArrayList<>(this.unfiltered)).add(visitor);
+                }
+            }
+        }
+
+        @NotNull
+        private List<PsiElementVisitor> find(@Nullable T key) {
+            final List<PsiElementVisitor> result = key == null ? null : this.byKey.get(key);
+            return result == null ? this.unfiltered : result;
+        }
+    }
+}
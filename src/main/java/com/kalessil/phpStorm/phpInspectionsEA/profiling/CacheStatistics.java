@@ -0,0 +1,53 @@
+package com.kalessil.phpStorm.phpInspectionsEA.profiling;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+final public class CacheStatistics {
+    private static final Map<String, CacheStatistics> registry = new ConcurrentHashMap<>();
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder misses   = new LongAdder();
+
+    private CacheStatistics() {
+    }
+
+    @NotNull
+    public static CacheStatistics create(@NotNull String name) {
+        return registry.computeIfAbsent(name, key -> new CacheStatistics());
+    }
+
+    @NotNull
+    static Map<String, CacheStatistics> getAll() {
+        return new TreeMap<>(registry);
+    }
+
+    public void registerRequest() {
+        this.requests.increment();
+    }
+
+    public void registerMiss() {
+        this.misses.increment();
+    }
+
+    public long getHits() {
+        return this.requests.sum() - this.misses.sum();
+    }
+
+    public long getMisses() {
+        return this.misses.sum();
+    }
+}
@@ -0,0 +1,187 @@
+package com.kalessil.phpStorm.phpInspectionsEA.profiling;
+
+import com.intellij.codeInspection.LocalInspectionEP;
+import com.intellij.openapi.diagnostic.Logger;
+import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpInspection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.intellij.codeInspection.LocalInspectionEP.LOCAL_INSPECTION;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/**
+ * Opt-in profiler for inspections visitors: enabled by `-Dea.profiler.report=/path/to/report.(json|csv)` VM option,
+ * the report is written when the application shuts down (e.g. at the end of a headless `inspect.sh` run).
+ *
+ * Visitors are wrapped as a whole, hence visited elements are counted per element type (PSI implementation class),
+ * not per `visitPhp*` callback. Only BasePhpInspection visitors are wrapped: the plugin's other inspections are listed
+ * in the report as not profiled.
+ */
+final public class InspectionsProfiler {
+    private static final Logger LOG             = Logger.getInstance(InspectionsProfiler.class);
+    private static final String pluginNamespace = "com.kalessil.phpStorm.phpInspectionsEA.";
+
+    @Nullable
+    private static final String reportPath                                  = System.getProperty("ea.profiler.report");
+    private static final Map<String, InspectionStatistics> statistics       = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, String> elementTypes                 = new ConcurrentHashMap<>();
+    @Nullable
+    private static final com.sun.management.ThreadMXBean allocationsTracker = createAllocationsTracker();
+
+    public static boolean isEnabled() {
+        return reportPath != null && !reportPath.isEmpty();
+    }
+
+    static long getAllocatedBytes() {
+        return allocationsTracker == null ? 0L : allocationsTracker.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    static void register(@NotNull String inspection, @NotNull Class<?> element, long nanoseconds, long bytes) {
+        final String elementType = elementTypes.computeIfAbsent(element, InspectionsProfiler::getElementTypeName);
+        statistics.computeIfAbsent(inspection, name -> new InspectionStatistics()).register(elementType, nanoseconds, bytes);
+    }
+
+    public static void exportReport() {
+        if (isEnabled() && !statistics.isEmpty()) {
+            final String content = reportPath.endsWith(".csv") ? toCsv() : toJson();
+            try {
+                Files.write(Paths.get(reportPath), content.getBytes(StandardCharsets.UTF_8));
+            } catch (final IOException error) {
+                LOG.warn("Could not write the inspections profiling report to " + reportPath, error);
+            }
+        }
+    }
+
+    @NotNull
+    static String toJson() {
+        final List<String> inspections = new ArrayList<>();
+        for (final Map.Entry<String, InspectionStatistics> entry : sortedStatistics().entrySet()) {
+            final InspectionStatistics stats = entry.getValue();
+            final List<String> elements      = new ArrayList<>();
+            new TreeMap<>(stats.elements).forEach((name, counter) -> elements.add(String.format("\"%s\":%d", name, counter.sum())));
+            inspections.add(String.format(
+                    "{\"inspection\":\"%s\",\"wallTimeNs\":%d,\"allocatedBytes\":%d,\"visitedElementTypes\":{%s}}",
+                    entry.getKey(),
+                    stats.wallTime.sum(),
+                    stats.allocations.sum(),
+                    String.join(",", elements)
+            ));
+        }
+        final List<String> caches = new ArrayList<>();
+        CacheStatistics.getAll().forEach(
+                (name, cache) -> caches.add(String.format("{\"cache\":\"%s\",\"hits\":%d,\"misses\":%d}", name, cache.getHits(), cache.getMisses()))
+        );
+        final List<String> notProfiled = new ArrayList<>();
+        getNotProfiledInspections().forEach(name -> notProfiled.add(String.format("\"%s\"", name)));
+        return String.format(
+                "{\n\"inspections\":[\n%s\n],\n\"notProfiledInspections\":[%s],\n\"caches\":[\n%s\n]\n}\n",
+                String.join(",\n", inspections),
+                String.join(",", notProfiled),
+                String.join(",\n", caches)
+        );
+    }
+
+    @NotNull
+    static String toCsv() {
+        final StringBuilder result = new StringBuilder("inspection,elementType,visitedElements,wallTimeNs,allocatedBytes\n");
+        for (final Map.Entry<String, InspectionStatistics> entry : sortedStatistics().entrySet()) {
+            final InspectionStatistics stats = entry.getValue();
+            result.append(String.format("%s,*,%d,%d,%d\n", entry.getKey(), stats.total(), stats.wallTime.sum(), stats.allocations.sum()));
+            new TreeMap<>(stats.elements).forEach(
+                    (name, counter) -> result.append(String.format("%s,%s,%d,,\n", entry.getKey(), name, counter.sum()))
+            );
+        }
+        result.append("\nnotProfiledInspection\n");
+        getNotProfiledInspections().forEach(name -> result.append(name).append('\n'));
+        result.append("\ncache,hits,misses\n");
+        CacheStatistics.getAll().forEach(
+                (name, cache) -> result.append(String.format("%s,%d,%d\n", name, cache.getHits(), cache.getMisses()))
+        );
+        return result.toString();
+    }
+
+    @NotNull
+    private static Map<String, InspectionStatistics> sortedStatistics() {
+        /* the most expensive inspections are going first */
+        final Map<String, InspectionStatistics> result = new TreeMap<>((first, second) -> {
+            final int comparison = Long.compare(statistics.get(second).wallTime.sum(), statistics.get(first).wallTime.sum());
+            return comparison == 0 ? first.compareTo(second) : comparison;
+        });
+        result.putAll(statistics);
+        return result;
+    }
+
+    /* plugin's inspections not extending BasePhpInspection (e.g. composer.json ones): their visitors are not wrapped */
+    @NotNull
+    private static List<String> getNotProfiledInspections() {
+        final List<String> result = new ArrayList<>();
+        for (final LocalInspectionEP extension : LOCAL_INSPECTION.getExtensions()) {
+            if (extension.implementationClass != null && extension.implementationClass.startsWith(pluginNamespace)) {
+                if (!(extension.instantiateTool() instanceof BasePhpInspection)) {
+                    result.add(extension.getShortName());
+                }
+            }
+        }
+        return result;
+    }
+
+    @NotNull
+    private static String getElementTypeName(@NotNull Class<?> element) {
+        final String name = element.getSimpleName();
+        return name.endsWith("Impl") ? name.substring(0, name.length() - 4) : name;
+    }
+
+    @Nullable
+    private static com.sun.management.ThreadMXBean createAllocationsTracker() {
+        try {
+            final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean instanceof com.sun.management.ThreadMXBean) {
+                final com.sun.management.ThreadMXBean tracker = (com.sun.management.ThreadMXBean) bean;
+                if (tracker.isThreadAllocatedMemorySupported()) {
+                    tracker.setThreadAllocatedMemoryEnabled(true);
+                    return tracker;
+                }
+            }
+        } catch (final Throwable error) {
+            /* non-HotSpot VMs: allocations are not tracked, the rest still works */
+        }
+        return null;
+    }
+
+    private static final class InspectionStatistics {
+        private final LongAdder wallTime              = new LongAdder();
+        private final LongAdder allocations           = new LongAdder();
+        private final Map<String, LongAdder> elements = new ConcurrentHashMap<>();
+
+        private void register(@NotNull String elementType, long nanoseconds, long bytes) {
+            this.wallTime.add(nanoseconds);
+            this.allocations.add(bytes);
+            this.elements.computeIfAbsent(elementType, name -> new LongAdder()).increment();
+        }
+
+        private long total() {
+            return this.elements.values().stream().mapToLong(LongAdder::sum).sum();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.kalessil.phpStorm.phpInspectionsEA.profiling;
+
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiElementVisitor;
+import org.jetbrains.annotations.NotNull;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+final public class ProfilingElementVisitor extends PsiElementVisitor {
+    @NotNull
+    private final String inspection;
+    @NotNull
+    private final PsiElementVisitor delegate;
+
+    public ProfilingElementVisitor(@NotNull String inspection, @NotNull PsiElementVisitor delegate) {
+        this.inspection = inspection;
+        this.delegate   = delegate;
+    }
+
+    @Override
+    public void visitElement(@NotNull PsiElement element) {
+        /* not a PhpElementVisitor, hence the engine lands here for every element and we re-dispatch it */
+        final long allocated = InspectionsProfiler.getAllocatedBytes();
+        final long started   = System.nanoTime();
+        try {
+            element.accept(this.delegate);
+        } finally {
+            InspectionsProfiler.register(
+                    this.inspection,
+                    element.getClass(),
+                    System.nanoTime() - started,
+                    InspectionsProfiler.getAllocatedBytes() - allocated
+            );
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.kalessil.phpStorm.phpInspectionsEA.utils;
+
+import com.intellij.openapi.util.TextRange;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiRecursiveElementWalkingVisitor;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.jetbrains.php.lang.psi.elements.Function;
+import com.kalessil.phpStorm.phpInspectionsEA.profiling.CacheStatistics;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/**
+ * Drop-in replacement for PsiTreeUtil.findChildrenOfType inside functions: the function is walked once,
+ * children are bucketed by the requested types lazily and the index lives until the file gets modified.
+ * Results are in the tree order (as PsiTreeUtil provides), nested closures are included.
+ */
+final public class ChildrenIndexUtil {
+    private static final CacheStatistics statistics = CacheStatistics.create("ChildrenIndexUtil.findChildrenOfType");
+
+    @NotNull
+    public static <T extends PsiElement> List<T> findChildrenOfType(@Nullable PsiElement element, @NotNull Class<T> clazz) {
+        if (element == null) {
+            return Collections.emptyList();
+        }
+        final Function scope = element instanceof Function ? (Function) element : ExpressionSemanticUtil.getScope(element);
+        if (scope == null) {
+            return new ArrayList<>(PsiTreeUtil.findChildrenOfType(element, clazz));
+        }
+
+        final List<T> children = getIndex(scope).getBucket(clazz);
+        if (element == scope) {
+            return children;
+        }
+
+        /* the bucket is ordered by start offsets: binary search for the first candidate inside the element */
+        final TextRange range = element.getTextRange();
+        int start             = 0;
+        int end               = children.size();
+        while (start < end) {
+            final int middle = (start + end) >>> 1;
+            if (children.get(middle).getTextRange().getStartOffset() < range.getStartOffset()) {
+                start = middle + 1;
+            } else {
+                end = middle;
+            }
+        }
+        final List<T> result = new ArrayList<>();
+        for (int index = start, size = children.size(); index < size; ++index) {
+            final T candidate              = children.get(index);
+            final TextRange candidateRange = candidate.getTextRange();
+            if (candidateRange.getStartOffset() >= range.getEndOffset()) {
+                break;
+            }
+            /* same ranges are possible for wrapping elements: verify the hierarchy then */
+            final boolean isChild = range.contains(candidateRange) &&
+                                    (!range.equals(candidateRange) || PsiTreeUtil.isAncestor(element, candidate, true));
+            if (isChild) {
+                result.add(candidate);
+            }
+        }
+        return result;
+    }
+
+    @NotNull
+    private static ChildrenIndex getIndex(@NotNull Function function) {
+        statistics.registerRequest();
+        return CachedValuesManager.getCachedValue(function, () -> {
+            statistics.registerMiss();
+            return CachedValueProvider.Result.create(new ChildrenIndex(function), function.getContainingFile());
+        });
+    }
+
+    private static final class ChildrenIndex {
+        private final List<PsiElement> elements               = new ArrayList<>();
+        private final Map<Class<?>, List<PsiElement>> buckets = new ConcurrentHashMap<>();
+
+        private ChildrenIndex(@NotNull Function function) {
+            function.acceptChildren(new PsiRecursiveElementWalkingVisitor() {
+                @Override
+                public void visitElement(@NotNull PsiElement element) {
+                    elements.add(element);
+                    super.visitElement(element);
+                }
+            });
+        }
+
+        @SuppressWarnings("unchecked")
+        @NotNull
+        private <T extends PsiElement> List<T> getBucket(@NotNull Class<T> clazz) {
+            return (List<T>) this.buckets.computeIfAbsent(clazz, type -> {
+                final List<PsiElement> bucket = new ArrayList<>();
+                for (final PsiElement element : this.elements) {
+                    if (type.isInstance(element)) {
+                        bucket.add(element);
+                    }
+                }
+                return bucket.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(bucket);
+            });
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.kalessil.phpStorm.phpInspectionsEA.utils;
+
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.jetbrains.php.codeInsight.controlFlow.PhpControlFlow;
+import com.jetbrains.php.codeInsight.controlFlow.instructions.PhpAccessVariableInstruction;
+import com.jetbrains.php.codeInsight.controlFlow.instructions.PhpInstruction;
+import com.jetbrains.php.lang.psi.elements.Function;
+import com.kalessil.phpStorm.phpInspectionsEA.profiling.CacheStatistics;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/**
+ * Variables accesses (reads and writes) of a function (method, closure), grouped by variable name.
+ * Built in one pass over the scope control flow and cached until the file gets modified; accesses are
+ * in the control flow instructions order, instructions not reachable from the entry point are excluded.
+ */
+final public class DefUseChainsUtil {
+    private static final PhpAccessVariableInstruction[] EMPTY = new PhpAccessVariableInstruction[0];
+    private static final CacheStatistics statistics           = CacheStatistics.create("DefUseChainsUtil.getChains");
+
+    /* all accesses, as PhpControlFlowUtil.getFollowingVariableAccessInstructions(entry point, name, false) provides */
+    @NotNull
+    public static PhpAccessVariableInstruction[] getAccesses(@NotNull Function scope, @NotNull String variableName) {
+        final PhpAccessVariableInstruction[] accesses = getChains(scope).get(variableName);
+        return accesses == null ? EMPTY : accesses;
+    }
+
+    @NotNull
+    private static Map<String, PhpAccessVariableInstruction[]> getChains(@NotNull Function scope) {
+        statistics.registerRequest();
+        return CachedValuesManager.getCachedValue(scope, () -> {
+            statistics.registerMiss();
+            final PhpControlFlow flow                                     = scope.getControlFlow();
+            final Set<PhpInstruction> reachable                           = getReachable(flow.getEntryPoint());
+            final Map<String, List<PhpAccessVariableInstruction>> grouped = new HashMap<>();
+            for (final PhpInstruction instruction : flow.getInstructions()) {
+                if (instruction instanceof PhpAccessVariableInstruction && reachable.contains(instruction)) {
+                    final PhpAccessVariableInstruction access = (PhpAccessVariableInstruction) instruction;
+                    grouped.computeIfAbsent(access.getVariableName().toString(), name -> new ArrayList<>()).add(access);
+                }
+            }
+            final Map<String, PhpAccessVariableInstruction[]> chains = new HashMap<>();
+            grouped.forEach((name, accesses) -> chains.put(name, accesses.toArray(EMPTY)));
+            return CachedValueProvider.Result.create(chains, scope.getContainingFile());
+        });
+    }
+
+    /* dead code (e.g. after return/throw) is not reachable from the entry point, hence skipped as PhpControlFlowUtil does */
+    @NotNull
+    private static Set<PhpInstruction> getReachable(@NotNull PhpInstruction entryPoint) {
+        final Set<PhpInstruction> reachable = new HashSet<>();
+        final Deque<PhpInstruction> queue   = new ArrayDeque<>();
+        reachable.add(entryPoint);
+        queue.add(entryPoint);
+        while (!queue.isEmpty()) {
+            for (final PhpInstruction successor : queue.poll().getSuccessors()) {
+                if (reachable.add(successor)) {
+                    queue.add(successor);
+                }
+            }
+        }
+        return reachable;
+    }
+}
@@ -207,16 +207,15 @@ final public class ExpressionSemanticUtil {
     public static StringLiteralExpression resolveAsStringLiteral(@Nullable PsiElement expression) {
         StringLiteralExpression result = expression instanceof StringLiteralExpression ? (StringLiteralExpression) expression : null;
         if (result == null && expression != null) {
-            final Set<PsiElement> variants = PossibleValuesDiscoveryUtil.discover(expression);
-            if (!variants.isEmpty()) {
-                final List<PsiElement> literals = variants.stream()
-                        .filter(variant -> variant instanceof StringLiteralExpression)
-                        .collect(Collectors.toList());
-                variants.clear();
-                if (literals.size() == 1) {
-                    result = (StringLiteralExpression) literals.get(0);
+            int literals = 0;
+            for (final PsiElement variant : PossibleValuesDiscoveryUtil.discoverValues(expression)) {
+                if (variant instanceof StringLiteralExpression) {
+                    result = (StringLiteralExpression) variant;
+                    ++literals;
                 }
-                literals.clear();
+            }
+            if (literals != 1) {
+                result = null;
             }
         }
         return result;
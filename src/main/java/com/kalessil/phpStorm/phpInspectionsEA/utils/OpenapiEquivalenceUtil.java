@@ -1,8 +1,14 @@
 package com.kalessil.phpStorm.phpInspectionsEA.utils;
 
 import com.intellij.codeInsight.PsiEquivalenceUtil;
+import com.intellij.lang.ASTNode;
 import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.psi.PsiComment;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiWhiteSpace;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
 import com.jetbrains.php.lang.psi.elements.Variable;
 import org.jetbrains.annotations.NotNull;
 
@@ -29,7 +35,8 @@ final public class OpenapiEquivalenceUtil {
                     } else {
                         result = PsiEquivalenceUtil.areElementsEquivalent(first, second);
                     }
-                } else {
+                } else if (getFingerprint(first) == getFingerprint(second)) {
+                    /* different fingerprints are rejecting the pair without walking both sub-trees */
                     result = PsiEquivalenceUtil.areElementsEquivalent(first, second) ||
                              first.getText().equals(second.getText());
                 }
@@ -42,4 +49,37 @@ final public class OpenapiEquivalenceUtil {
         }
         return result;
     }
+
+    /* structural fingerprint (white-spaces and comments are ignored): equivalent elements are having equal fingerprints */
+    public static int getFingerprint(@NotNull PsiElement element) {
+        return CachedValuesManager.getCachedValue(
+                element,
+                () -> CachedValueProvider.Result.create(computeFingerprint(element, 0), PsiModificationTracker.MODIFICATION_COUNT)
+        );
+    }
+
+    /* not cached variant, for indexers */
+    public static int computeFingerprint(@NotNull PsiElement element) {
+        return computeFingerprint(element, 0);
+    }
+
+    private static int computeFingerprint(@NotNull PsiElement element, int hash) {
+        PsiElement child = element.getFirstChild();
+        if (child == null) {
+            /* leaf: hash the text as it was concatenated, so the leaves splitting doesn't matter */
+            final ASTNode node      = element.getNode();
+            final CharSequence text = node == null ? element.getText() : node.getChars();
+            for (int index = 0, length = text.length(); index < length; ++index) {
+                hash = 31 * hash + text.charAt(index);
+            }
+        } else {
+            while (child != null) {
+                if (!(child instanceof PsiWhiteSpace) && !(child instanceof PsiComment)) {
+                    hash = computeFingerprint(child, hash);
+                }
+                child = child.getNextSibling();
+            }
+        }
+        return hash;
+    }
 }
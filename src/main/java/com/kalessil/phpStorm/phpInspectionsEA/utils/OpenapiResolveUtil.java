@@ -6,11 +6,15 @@ import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiReference;
 import com.intellij.psi.ResolveResult;
 import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
 import com.jetbrains.php.PhpIndex;
 import com.jetbrains.php.lang.lexer.PhpTokenTypes;
 import com.jetbrains.php.lang.psi.elements.*;
 import com.jetbrains.php.lang.psi.resolve.types.PhpType;
 import com.kalessil.phpStorm.phpInspectionsEA.inspectors.ifs.utils.ExpressionCostEstimateUtil;
+import com.kalessil.phpStorm.phpInspectionsEA.profiling.CacheStatistics;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -47,8 +51,27 @@ final public class OpenapiResolveUtil {
         functionToNarrow.put("preg_replace_callback_array", 1);
     }
 
+    /* resolved method references are shared by inspections during a highlighting pass, until PSI gets modified */
+    private static final CacheStatistics resolveCache = CacheStatistics.create("OpenapiResolveUtil.resolveReference");
+
     @Nullable
     static public PsiElement resolveReference(@NotNull MethodReference reference) {
+        try {
+            resolveCache.registerRequest();
+            return CachedValuesManager.getCachedValue(reference, () -> {
+                resolveCache.registerMiss();
+                return CachedValueProvider.Result.create(resolveMethodReference(reference), PsiModificationTracker.MODIFICATION_COUNT);
+            });
+        } catch (final Throwable error) {
+            if (error instanceof ProcessCanceledException) {
+                throw error;
+            }
+            return null;
+        }
+    }
+
+    @Nullable
+    static private PsiElement resolveMethodReference(@NotNull MethodReference reference) {
         PsiElement result = null;
         try {
             final ResolveResult[] resolved = reference.multiResolve(false);
@@ -113,8 +136,23 @@ final public class OpenapiResolveUtil {
         }
     }
 
+    /* resolved types are shared by inspections during a highlighting pass, until PSI gets modified: do not modify them */
+    private static final CacheStatistics typesCache = CacheStatistics.create("OpenapiResolveUtil.resolveType");
+
     @Nullable
     static public PhpType resolveType(@NotNull PhpTypedElement expression, @NotNull Project project) {
+        if (!(expression instanceof PsiElement)) {
+            return resolveTypeUncached(expression, project);
+        }
+        typesCache.registerRequest();
+        return CachedValuesManager.getCachedValue((PsiElement) expression, () -> {
+            typesCache.registerMiss();
+            return CachedValueProvider.Result.create(resolveTypeUncached(expression, project), PsiModificationTracker.MODIFICATION_COUNT);
+        });
+    }
+
+    @Nullable
+    static private PhpType resolveTypeUncached(@NotNull PhpTypedElement expression, @NotNull Project project) {
         PhpType result = null;
         try {
             if (expression instanceof FunctionReference) {
@@ -129,7 +167,7 @@ final public class OpenapiResolveUtil {
                     final String name = reference.getName();
                     /* override signatures if we specified custom signatures */
                     if (name != null && functionReturnTypes.containsKey(name)) {
-                        result = functionReturnTypes.get(name);
+                        result = new PhpType().add(functionReturnTypes.get(name));
                     }
                     /* some of replacement function result can be narrowed from arguments type */
                     if (name != null && functionToNarrow.containsKey(name)) {
@@ -138,10 +176,11 @@ final public class OpenapiResolveUtil {
                         if (arguments.length > targetPosition && arguments[targetPosition] instanceof PhpTypedElement) {
                             final PhpType argumentType = resolveType((PhpTypedElement) arguments[targetPosition], project);
                             if (argumentType != null && !argumentType.isEmpty() && !argumentType.hasUnknown()) {
-                                if (argumentType.getTypes().stream().noneMatch(t -> Types.getType(t).equals(Types.strArray))) {
+                                final TypeSet argumentTypes = TypeSet.of(argumentType);
+                                if (!argumentTypes.hasAny(TypeSet.ARRAY)) {
                                     result.getTypes().removeIf(t -> Types.getType(t).equals(Types.strArray));
                                 }
-                                if (argumentType.getTypes().stream().noneMatch(t -> Types.getType(t).equals(Types.strString))) {
+                                if (!argumentTypes.hasAny(TypeSet.STRING)) {
                                     result.getTypes().removeIf(t -> Types.getType(t).equals(Types.strString));
                                 }
                             }
@@ -168,23 +207,18 @@ final public class OpenapiResolveUtil {
                     if (left instanceof PhpTypedElement) {
                         final PhpType leftType = resolveType((PhpTypedElement) left, project);
                         if (leftType != null) {
-                            final Set<String> leftTypes = new HashSet<>();
-                            leftType.filterUnknown().getTypes().forEach(type -> leftTypes.add(Types.getType(type)));
-                            hasFloat = leftTypes.isEmpty() || leftTypes.contains(Types.strFloat) || leftTypes.contains(Types.strNumber);
-                            hasArray = leftTypes.contains(Types.strArray);
-                            leftTypes.clear();
+                            final TypeSet leftTypes = TypeSet.of(leftType);
+                            hasFloat = leftTypes.isEmpty() || leftTypes.hasAny(TypeSet.FLOAT | TypeSet.NUMBER);
+                            hasArray = leftTypes.hasAny(TypeSet.ARRAY);
                             if (!hasFloat || (!hasArray && operator == PhpTokenTypes.opPLUS)) {
                                 final PsiElement right = ExpressionSemanticUtil.getExpressionTroughParenthesis(binary.getRightOperand());
                                 if (right instanceof PhpTypedElement) {
                                     final PhpType rightType = resolveType((PhpTypedElement) right, project);
                                     if (rightType != null) {
-                                        final Set<String> rightTypes = new HashSet<>();
-                                        rightType.filterUnknown().getTypes().forEach(type -> rightTypes.add(Types.getType(type)));
-                                        hasFloat = hasFloat ||
-                                                   rightTypes.isEmpty() || rightTypes.contains(Types.strFloat) || leftTypes.contains(Types.strNumber);
+                                        final TypeSet rightTypes = TypeSet.of(rightType);
+                                        hasFloat = hasFloat || rightTypes.isEmpty() || rightTypes.hasAny(TypeSet.FLOAT);
                                         hasArray = (hasArray && !OpenapiTypesUtil.isNumber(right)) ||
-                                                   rightTypes.contains(Types.strArray);
-                                        rightTypes.clear();
+                                                   rightTypes.hasAny(TypeSet.ARRAY);
                                     }
                                 }
                             }
@@ -264,6 +298,13 @@ final public class OpenapiResolveUtil {
         return result;
     }
 
+    /* resolved type as a compact set of normalized types, unresolved types are skipped */
+    @NotNull
+    static public TypeSet resolveTypeSet(@NotNull PhpTypedElement expression, @NotNull Project project) {
+        final PhpType resolved = resolveType(expression, project);
+        return resolved == null ? TypeSet.EMPTY : TypeSet.of(resolved);
+    }
+
     @NotNull
     static public Collection<PhpClass> resolveClassesByFQN(@NotNull String name, @NotNull PhpIndex index) {
         try {
@@ -1,16 +1,19 @@
 package com.kalessil.phpStorm.phpInspectionsEA.utils;
 
 import com.intellij.psi.PsiElement;
-import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
 import com.jetbrains.php.lang.lexer.PhpTokenTypes;
 import com.jetbrains.php.lang.psi.elements.*;
+import com.kalessil.phpStorm.phpInspectionsEA.profiling.CacheStatistics;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.Arrays;
 import java.util.HashSet;
-import java.util.Objects;
+import java.util.LinkedHashSet;
 import java.util.Set;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /*
  * This file is part of the Php Inspections (EA Extended) package.
@@ -22,27 +25,51 @@ import java.util.stream.Stream;
  */
 
 public class PossibleValuesDiscoveryUtil {
+    private static final PsiElement[] EMPTY         = new PsiElement[0];
+    private static final CacheStatistics statistics = CacheStatistics.create("PossibleValuesDiscoveryUtil.discover");
+
+    /* a modifiable copy of the discovered values, callers are free to alter it */
     @NotNull
     static public Set<PsiElement> discover(@NotNull PsiElement expression) {
-        final Set<PsiElement> processed      = new HashSet<>();
-        final Set<PsiElement> result         = discover(expression, processed);
-        final Set<PsiElement> filteredResult = result.stream().filter(Objects::nonNull).collect(Collectors.toSet());
-        processed.clear();
-        result.clear();
-        return filteredResult;
+        return new HashSet<>(Arrays.asList(discoverValues(expression)));
     }
 
+    /* the discovered values in discovery order: the array is shared between callers and must not be modified */
     @NotNull
-    static private Set<PsiElement> discover(@NotNull PsiElement expression, @NotNull Set<PsiElement> processed) {
-        /* un-wrap parentheses to avoid false-positives */
-        expression = ExpressionSemanticUtil.getExpressionTroughParenthesis(expression);
+    static public PsiElement[] discoverValues(@NotNull PsiElement expression) {
+        statistics.registerRequest();
+        /* values are coming from fields defaults and constants declared elsewhere, hence the project-wide dependency */
+        return CachedValuesManager.getCachedValue(expression, () -> {
+            statistics.registerMiss();
+            final Set<PsiElement> processed = new HashSet<>();
+            final Set<PsiElement> result    = discover(expression, processed);
+            final PsiElement[] values       = result.isEmpty() ? EMPTY : result.toArray(EMPTY);
+            processed.clear();
+            result.clear();
+            return CachedValueProvider.Result.create(values, PsiModificationTracker.MODIFICATION_COUNT);
+        });
+    }
+
+    /* a single discovered value, or null if there are none or several of them */
+    @Nullable
+    static public PsiElement discoverSingle(@NotNull PsiElement expression) {
+        final PsiElement[] values = discoverValues(expression);
+        return values.length == 1 ? values[0] : null;
+    }
+
+    @NotNull
+    static private Set<PsiElement> discover(@NotNull PsiElement original, @NotNull Set<PsiElement> processed) {
+        /* un-wrap parentheses to avoid false-positives, empty or incomplete parentheses have no values */
+        final PsiElement expression  = ExpressionSemanticUtil.getExpressionTroughParenthesis(original);
+        final Set<PsiElement> result = new LinkedHashSet<>();
+        if (expression == null) {
+            return result;
+        }
 
         /* do not process same expressions multiple times */
-        Set<PsiElement> result = new HashSet<>();
-        if (processed.contains(expression)) {
+        if (!processed.add(expression)) {
             return result;
         }
-        processed.add(expression);
 
         /* Case 1: ternary operator, recursively check variants */
         if (expression instanceof TernaryExpression) {
@@ -134,9 +161,12 @@ public class PossibleValuesDiscoveryUtil {
         final PhpClass clazz       = field instanceof Field ? ((Field) field).getContainingClass() : null;
         final Function constructor = clazz == null ? null : clazz.getConstructor();
         final Function callable    = ExpressionSemanticUtil.getScope(reference);
-        Stream.of(callable, constructor)
-                .filter(Objects::nonNull)
-                .forEach(method -> handleAssignmentsInScope(method, reference, result, processed));
+        if (callable != null) {
+            handleAssignmentsInScope(callable, reference, result, processed);
+        }
+        if (constructor != null) {
+            handleAssignmentsInScope(constructor, reference, result, processed);
+        }
     }
 
     static private void handleTernary(
@@ -144,13 +174,8 @@ public class PossibleValuesDiscoveryUtil {
             @NotNull Set<PsiElement> result,
             @NotNull Set<PsiElement> processed
     ) {
-        Stream.of(ternary.getTrueVariant(), ternary.getFalseVariant()).filter(Objects::nonNull).forEach(variant -> {
-            final Set<PsiElement> variants = discover(variant, processed);
-            if (!variants.isEmpty()) {
-                result.addAll(variants);
-                variants.clear();
-            }
-        });
+        handleVariant(ternary.getTrueVariant(), result, processed);
+        handleVariant(ternary.getFalseVariant(), result, processed);
     }
 
     static private void handleNullCoalesce(
@@ -158,13 +183,22 @@ public class PossibleValuesDiscoveryUtil {
             @NotNull Set<PsiElement> result,
             @NotNull Set<PsiElement> processed
     ) {
-        Stream.of(binary.getLeftOperand(), binary.getRightOperand()).filter(Objects::nonNull).forEach(variant -> {
+        handleVariant(binary.getLeftOperand(), result, processed);
+        handleVariant(binary.getRightOperand(), result, processed);
+    }
+
+    static private void handleVariant(
+            @Nullable PsiElement variant,
+            @NotNull Set<PsiElement> result,
+            @NotNull Set<PsiElement> processed
+    ) {
+        if (variant != null) {
             final Set<PsiElement> variants = discover(variant, processed);
             if (!variants.isEmpty()) {
                 result.addAll(variants);
                 variants.clear();
             }
-        });
+        }
     }
 
     static private void handleAssignmentsInScope(
@@ -174,7 +208,7 @@ public class PossibleValuesDiscoveryUtil {
             @NotNull Set<PsiElement> processed
     ) {
         final GroupStatement body = ExpressionSemanticUtil.getGroupStatement(callable);
-        for (final AssignmentExpression expression : PsiTreeUtil.findChildrenOfType(body, AssignmentExpression.class)) {
+        for (final AssignmentExpression expression : ChildrenIndexUtil.findChildrenOfType(body, AssignmentExpression.class)) {
             if (OpenapiTypesUtil.isAssignment(expression)) {
                 final PsiElement container = expression.getVariable();
                 if (container != null && OpenapiEquivalenceUtil.areEqual(container, target)) {
@@ -0,0 +1,114 @@
+package com.kalessil.phpStorm.phpInspectionsEA.utils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/**
+ * Case-insensitive multi-pattern matcher for ASCII signatures (Aho-Corasick automaton, compiled into a DFA):
+ * the text is scanned once, in a single pass, regardless of the signatures amount. Intended as a cheap pre-filter
+ * of raw files content, so only candidate files are getting PSI-level analysis. Instances are immutable.
+ */
+final public class SignaturesMatcher {
+    private static final int ALPHABET = 128;
+
+    @NotNull
+    private final int[][] transitions;
+    @NotNull
+    private final boolean[] accepting;
+
+    public SignaturesMatcher(@NotNull Collection<String> signatures) {
+        /* build the trie of lower-cased signatures */
+        final List<int[]> trie        = new ArrayList<>();
+        final List<Boolean> terminals = new ArrayList<>();
+        trie.add(newState());
+        terminals.add(false);
+        for (final String signature : signatures) {
+            if (signature.isEmpty()) {
+                continue;
+            }
+            int state = 0;
+            for (final char character : signature.toLowerCase().toCharArray()) {
+                if (character >= ALPHABET) {
+                    throw new IllegalArgumentException("Only ASCII signatures are supported: " + signature);
+                }
+                if (trie.get(state)[character] == -1) {
+                    trie.get(state)[character] = trie.size();
+                    trie.add(newState());
+                    terminals.add(false);
+                }
+                state = trie.get(state)[character];
+            }
+            terminals.set(state, true);
+        }
+
+        /* breadth-first: resolve failure links and turn missing transitions into the failure ones */
+        this.transitions = trie.toArray(new int[trie.size()][]);
+        this.accepting   = new boolean[trie.size()];
+        final int[] failures       = new int[trie.size()];
+        final Deque<Integer> queue = new ArrayDeque<>();
+        for (int character = 0; character < ALPHABET; ++character) {
+            final int next = this.transitions[0][character];
+            if (next == -1) {
+                this.transitions[0][character] = 0;
+            } else {
+                queue.add(next);
+            }
+        }
+        while (!queue.isEmpty()) {
+            final int state = queue.poll();
+            this.accepting[state] = terminals.get(state) || this.accepting[failures[state]];
+            for (int character = 0; character < ALPHABET; ++character) {
+                final int next = this.transitions[state][character];
+                if (next == -1) {
+                    this.transitions[state][character] = this.transitions[failures[state]][character];
+                } else {
+                    failures[next] = this.transitions[failures[state]][character];
+                    queue.add(next);
+                }
+            }
+        }
+
+        /* case-insensitivity is compiled in: upper-case letters are following lower-case transitions */
+        for (final int[] state : this.transitions) {
+            for (char character = 'A'; character <= 'Z'; ++character) {
+                state[character] = state[Character.toLowerCase(character)];
+            }
+        }
+    }
+
+    public boolean containsAny(@NotNull CharSequence text) {
+        int state      = 0;
+        final int size = text.length();
+        for (int index = 0; index < size; ++index) {
+            final char character = text.charAt(index);
+            /* non-ASCII characters are not part of any signature */
+            state = character < ALPHABET ? this.transitions[state][character] : 0;
+            if (this.accepting[state]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @NotNull
+    private static int[] newState() {
+        final int[] state = new int[ALPHABET];
+        Arrays.fill(state, -1);
+        return state;
+    }
+}
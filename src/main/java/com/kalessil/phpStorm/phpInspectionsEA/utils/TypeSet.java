@@ -0,0 +1,393 @@
+package com.kalessil.phpStorm.phpInspectionsEA.utils;
+
+import com.jetbrains.php.lang.psi.resolve.types.PhpType;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/**
+ * Immutable set of normalized types (as Types.getType provides): core types are bits of an int mask,
+ * other types (class FQNs) are interned and stored as sorted ids. Raw type strings are normalized once per
+ * interning table, so building and combining sets is not producing any string churn.
+ *
+ * The interning table is bounded: once full, a fresh one is started and the previous one stays reachable only from
+ * sets built with it (cached types are dropped on PSI modifications), so names of closed projects are not kept forever.
+ * Sets from different tables are still comparable and combinable, at the cost of re-interning.
+ */
+final public class TypeSet {
+    public static final int ARRAY     = 1;
+    public static final int ITERABLE  = 1 << 1;
+    public static final int STRING    = 1 << 2;
+    public static final int BOOLEAN   = 1 << 3;
+    public static final int INTEGER   = 1 << 4;
+    public static final int FLOAT     = 1 << 5;
+    public static final int NUMBER    = 1 << 6;
+    public static final int NULL      = 1 << 7;
+    public static final int VOID      = 1 << 8;
+    public static final int MIXED     = 1 << 9;
+    public static final int CALLABLE  = 1 << 10;
+    public static final int RESOURCE  = 1 << 11;
+    public static final int STATIC    = 1 << 12;
+    public static final int SELF      = 1 << 13;
+    public static final int OBJECT    = 1 << 14;
+    public static final int EMPTY_SET = 1 << 15;
+
+    /* names of the core types, indexed by the bit position */
+    private static final String[] coreNames = {
+            Types.strArray, Types.strIterable, Types.strString, Types.strBoolean, Types.strInteger, Types.strFloat,
+            Types.strNumber, Types.strNull, Types.strVoid, Types.strMixed, Types.strCallable, Types.strResource,
+            Types.strStatic, Types.strSelf, Types.strObject, Types.strEmptySet
+    };
+
+    private static final int[] NO_CLASSES = new int[0];
+    public static final TypeSet EMPTY     = new TypeSet(0, NO_CLASSES, new Interning());
+
+    private static final int maxEncodings     = 1 << 15;
+    private static volatile Interning current = new Interning();
+
+    private final int core;
+    @NotNull
+    private final int[] classes;
+    @NotNull
+    private final Interning interning;
+
+    private TypeSet(int core, @NotNull int[] classes, @NotNull Interning interning) {
+        this.core      = core;
+        this.classes   = classes;
+        this.interning = interning;
+    }
+
+    /* unresolved types (signatures) are skipped, as PhpType.filterUnknown() does */
+    @NotNull
+    public static TypeSet of(@NotNull PhpType type) {
+        return of(type.getTypes());
+    }
+
+    @NotNull
+    public static TypeSet of(@NotNull Collection<String> types) {
+        if (types.isEmpty()) {
+            return EMPTY;
+        }
+
+        final Interning interning = getInterning();
+        int core                  = 0;
+        int[] classes             = NO_CLASSES;
+        int classesCount          = 0;
+        for (final String raw : types) {
+            if (raw.isEmpty() || raw.charAt(0) == '#' || raw.charAt(0) == '?') {
+                continue;
+            }
+            final int encoding = interning.encodings.computeIfAbsent(raw, interning::encode);
+            if (encoding > 0) {
+                core |= encoding;
+            } else {
+                if (classesCount == classes.length) {
+                    classes = Arrays.copyOf(classes, Math.max(4, classesCount * 2));
+                }
+                classes[classesCount++] = -encoding - 1;
+            }
+        }
+        return create(core, normalize(classes, classesCount), interning);
+    }
+
+    public int getCore() {
+        return this.core;
+    }
+
+    /* if any of the core types given as bits mask is present */
+    public boolean hasAny(int coreTypes) {
+        return (this.core & coreTypes) != 0;
+    }
+
+    /* if there are no other types than the core types given as bits mask (and classes, if allowed) */
+    public boolean hasOnly(int coreTypes, boolean allowClasses) {
+        return (this.core & ~coreTypes) == 0 && (allowClasses || this.classes.length == 0);
+    }
+
+    public boolean isNullable() {
+        return (this.core & NULL) != 0;
+    }
+
+    public boolean hasClasses() {
+        return this.classes.length > 0;
+    }
+
+    /* if all non-core types are FQNs (e.g. no unknown pseudo-types like `callable-string`) */
+    public boolean areClassesQualified() {
+        final String[] interned = this.interning.names;
+        for (final int id : this.classes) {
+            if (interned[id].charAt(0) != '\\') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean isEmpty() {
+        return this.core == 0 && this.classes.length == 0;
+    }
+
+    public int size() {
+        return Integer.bitCount(this.core) + this.classes.length;
+    }
+
+    /* the type is normalized as Types.getType does, unknown types are not getting interned */
+    public boolean contains(@NotNull String type) {
+        Integer encoding = this.interning.encodings.get(type);
+        if (encoding == null) {
+            final String normalized = Types.getType(type);
+            final int bit           = getCoreBit(normalized);
+            if (bit == 0) {
+                final Integer id = this.interning.identifiers.get(normalized);
+                return id != null && Arrays.binarySearch(this.classes, id) >= 0;
+            }
+            encoding = bit;
+        }
+        return encoding > 0 ? (this.core & encoding) != 0 : Arrays.binarySearch(this.classes, -encoding - 1) >= 0;
+    }
+
+    @NotNull
+    public TypeSet union(@NotNull TypeSet other) {
+        if (other.isEmpty() || other == this) {
+            return this;
+        }
+        if (this.isEmpty()) {
+            return other;
+        }
+        if (!this.isCombinableWith(other)) {
+            final Interning interning = getInterning();
+            return this.reintern(interning).union(other.reintern(interning));
+        }
+
+        final int[] merged = new int[this.classes.length + other.classes.length];
+        int count          = 0;
+        int left           = 0;
+        int right          = 0;
+        while (left < this.classes.length || right < other.classes.length) {
+            final int next;
+            if (right == other.classes.length || (left < this.classes.length && this.classes[left] < other.classes[right])) {
+                next = this.classes[left++];
+            } else if (left == this.classes.length || other.classes[right] < this.classes[left]) {
+                next = other.classes[right++];
+            } else {
+                next = this.classes[left++];
+                ++right;
+            }
+            merged[count++] = next;
+        }
+        return create(this.core | other.core, count == merged.length ? merged : Arrays.copyOf(merged, count), this.getCombinedInterning(other));
+    }
+
+    @NotNull
+    public TypeSet intersection(@NotNull TypeSet other) {
+        if (other == this) {
+            return this;
+        }
+        if (!this.isCombinableWith(other)) {
+            final Interning interning = getInterning();
+            return this.reintern(interning).intersection(other.reintern(interning));
+        }
+
+        final int[] common = new int[Math.min(this.classes.length, other.classes.length)];
+        int count          = 0;
+        int left           = 0;
+        int right          = 0;
+        while (left < this.classes.length && right < other.classes.length) {
+            if (this.classes[left] < other.classes[right]) {
+                ++left;
+            } else if (other.classes[right] < this.classes[left]) {
+                ++right;
+            } else {
+                common[count++] = this.classes[left++];
+                ++right;
+            }
+        }
+        return create(this.core & other.core, count == common.length ? common : Arrays.copyOf(common, count), this.getCombinedInterning(other));
+    }
+
+    /* removes the core types given as bits mask */
+    @NotNull
+    public TypeSet without(int coreTypes) {
+        return (this.core & coreTypes) == 0 ? this : create(this.core & ~coreTypes, this.classes, this.interning);
+    }
+
+    @NotNull
+    public TypeSet withoutNull() {
+        return this.without(NULL);
+    }
+
+    /* the classes FQNs (or other non-core types), in the interning order */
+    @NotNull
+    public List<String> getClasses() {
+        final List<String> result = new ArrayList<>(this.classes.length);
+        final String[] interned   = this.interning.names;
+        for (final int id : this.classes) {
+            result.add(interned[id]);
+        }
+        return result;
+    }
+
+    /* the same content as collecting Types.getType of each type would give */
+    @NotNull
+    public Set<String> toStrings() {
+        final Set<String> result = new HashSet<>();
+        for (int position = 0; position < coreNames.length; ++position) {
+            if ((this.core & (1 << position)) != 0) {
+                result.add(coreNames[position]);
+            }
+        }
+        result.addAll(this.getClasses());
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other == this) {
+            return true;
+        }
+        if (!(other instanceof TypeSet)) {
+            return false;
+        }
+        final TypeSet set = (TypeSet) other;
+        if (set.core != this.core || set.classes.length != this.classes.length) {
+            return false;
+        }
+        return this.isCombinableWith(set)
+                ? Arrays.equals(set.classes, this.classes)
+                : new HashSet<>(set.getClasses()).containsAll(this.getClasses());
+    }
+
+    /* names based: ids of the same class are different in different interning tables */
+    @Override
+    public int hashCode() {
+        int result              = 31 * this.core;
+        final String[] interned = this.interning.names;
+        for (final int id : this.classes) {
+            result += interned[id].hashCode();
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return String.join("|", this.toStrings());
+    }
+
+    @NotNull
+    private static TypeSet create(int core, @NotNull int[] classes, @NotNull Interning interning) {
+        return core == 0 && classes.length == 0 ? EMPTY : new TypeSet(core, classes, interning);
+    }
+
+    /* the current interning table, a fresh one is started when it is full */
+    @NotNull
+    private static Interning getInterning() {
+        final Interning interning = current;
+        if (interning.encodings.size() < maxEncodings) {
+            return interning;
+        }
+        synchronized (TypeSet.class) {
+            if (current == interning) {
+                current = new Interning();
+            }
+            return current;
+        }
+    }
+
+    /* classes ids are comparable only within the same interning table */
+    private boolean isCombinableWith(@NotNull TypeSet other) {
+        return this.interning == other.interning || this.classes.length == 0 || other.classes.length == 0;
+    }
+
+    @NotNull
+    private Interning getCombinedInterning(@NotNull TypeSet other) {
+        return this.classes.length == 0 ? other.interning : this.interning;
+    }
+
+    @NotNull
+    private TypeSet reintern(@NotNull Interning target) {
+        if (this.interning == target || this.classes.length == 0) {
+            return this;
+        }
+        final String[] interned = this.interning.names;
+        final int[] classes     = new int[this.classes.length];
+        for (int index = 0; index < classes.length; ++index) {
+            classes[index] = target.intern(interned[this.classes[index]]);
+        }
+        return create(this.core, normalize(classes, classes.length), target);
+    }
+
+    /* sorts and removes duplicates in place */
+    @NotNull
+    private static int[] normalize(@NotNull int[] classes, int count) {
+        if (count == 0) {
+            return NO_CLASSES;
+        }
+        Arrays.sort(classes, 0, count);
+        int unique = 1;
+        for (int index = 1; index < count; ++index) {
+            if (classes[index] != classes[unique - 1]) {
+                classes[unique++] = classes[index];
+            }
+        }
+        return unique == classes.length ? classes : Arrays.copyOf(classes, unique);
+    }
+
+    private static int getCoreBit(@NotNull String type) {
+        for (int position = 0; position < coreNames.length; ++position) {
+            if (coreNames[position].equals(type)) {
+                return 1 << position;
+            }
+        }
+        return 0;
+    }
+
+    /* raw type => core bit (positive) or interned class id (encoded as negative: -id - 1) */
+    private static final class Interning {
+        private final Map<String, Integer> encodings   = new ConcurrentHashMap<>();
+        private final Map<String, Integer> identifiers = new ConcurrentHashMap<>();
+        private volatile String[] names                = new String[256];
+
+        private int encode(@NotNull String raw) {
+            final String type = Types.getType(raw);
+            final int bit     = getCoreBit(type);
+            return bit == 0 ? -this.intern(type) - 1 : bit;
+        }
+
+        private int intern(@NotNull String type) {
+            final Integer existing = this.identifiers.get(type);
+            if (existing != null) {
+                return existing;
+            }
+            synchronized (this.identifiers) {
+                Integer id = this.identifiers.get(type);
+                if (id == null) {
+                    id = this.identifiers.size();
+                    String[] interned = this.names;
+                    if (id == interned.length) {
+                        interned = Arrays.copyOf(interned, id * 2);
+                    }
+                    interned[id] = type;
+                    this.names   = interned;
+                    this.identifiers.put(type, id);
+                }
+                return id;
+            }
+        }
+    }
+}
@@ -27,4 +27,10 @@ final public class TypesSemanticsUtil {
 
         return true;
     }
+
+    /** check if nullable object interfaces */
+    public static boolean isNullableObjectInterface(@NotNull TypeSet resolvedTypes) {
+        final TypeSet types = resolvedTypes.withoutNull();
+        return !types.isEmpty() && types.getCore() == 0 && types.areClassesQualified();
+    }
 }
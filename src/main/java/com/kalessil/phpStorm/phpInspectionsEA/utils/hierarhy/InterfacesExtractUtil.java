@@ -1,9 +1,16 @@
 package com.kalessil.phpStorm.phpInspectionsEA.utils.hierarhy;
 
+import com.intellij.openapi.util.Key;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
 import com.jetbrains.php.lang.psi.elements.PhpClass;
+import com.kalessil.phpStorm.phpInspectionsEA.profiling.CacheStatistics;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.OpenapiResolveUtil;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -17,15 +24,44 @@ import java.util.Set;
  */
 
 final public class InterfacesExtractUtil {
+    private static final Key<CachedValue<InheritanceTree>> classesTreeKey    = Key.create("ea.inheritance_tree.classes");
+    private static final Key<CachedValue<InheritanceTree>> interfacesTreeKey = Key.create("ea.inheritance_tree.interfaces");
+    private static final CacheStatistics statistics                          = CacheStatistics.create("InterfacesExtractUtil.getCrawlInheritanceTree");
+
     @NotNull
     public static HashSet<PhpClass> getCrawlInheritanceTree(@NotNull PhpClass clazz, boolean withClasses) {
-        final HashSet<PhpClass> processed = new HashSet<>();
-        if (clazz.isInterface()) {
-            processInterface(clazz, processed);
-        } else {
-            processClass(clazz, processed, withClasses);
-        }
-        return processed;
+        /* callers are free to modify the result, hence a copy of the cached tree */
+        return new HashSet<>(getInheritanceTree(clazz, withClasses).classes);
+    }
+
+    /* O(1) lookups friendly variant: FQNs of the inheritance tree members, the set is not modifiable */
+    @NotNull
+    public static Set<String> getCrawlInheritanceTreeFqns(@NotNull PhpClass clazz, boolean withClasses) {
+        return getInheritanceTree(clazz, withClasses).fqns;
+    }
+
+    @NotNull
+    private static InheritanceTree getInheritanceTree(@NotNull PhpClass clazz, boolean withClasses) {
+        statistics.registerRequest();
+        /* hierarchy is declared outside of code blocks, so the cache survives editing of methods bodies */
+        return CachedValuesManager.getManager(clazz.getProject()).getCachedValue(
+                clazz,
+                withClasses ? classesTreeKey : interfacesTreeKey,
+                () -> {
+                    statistics.registerMiss();
+                    final Set<PhpClass> processed = new HashSet<>();
+                    if (clazz.isInterface()) {
+                        processInterface(clazz, processed);
+                    } else {
+                        processClass(clazz, processed, withClasses);
+                    }
+                    return CachedValueProvider.Result.create(
+                            new InheritanceTree(processed),
+                            PsiModificationTracker.OUT_OF_CODE_BLOCK_MODIFICATION_COUNT
+                    );
+                },
+                false
+        );
     }
 
     private static void processClass(@NotNull PhpClass clazz, @NotNull Set<PhpClass> processedItems, boolean withClasses) {
@@ -50,4 +86,19 @@ final public class InterfacesExtractUtil {
             OpenapiResolveUtil.resolveImplementedInterfaces(clazz).forEach(i -> processInterface(i, processedItems));
         }
     }
+
+    private static final class InheritanceTree {
+        @NotNull
+        private final Set<PhpClass> classes;
+        @NotNull
+        private final Set<String> fqns;
+
+        private InheritanceTree(@NotNull Set<PhpClass> classes) {
+            final Set<String> fqns = new HashSet<>(classes.size());
+            classes.forEach(clazz -> fqns.add(clazz.getFQN()));
+
+            this.classes = Collections.unmodifiableSet(classes);
+            this.fqns    = Collections.unmodifiableSet(fqns);
+        }
+    }
 }
@@ -0,0 +1,104 @@
+package com.kalessil.phpStorm.phpInspectionsEA.utils.hierarhy;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
+import com.jetbrains.php.PhpIndex;
+import com.jetbrains.php.lang.psi.elements.Method;
+import com.jetbrains.php.lang.psi.elements.PhpClass;
+import com.kalessil.phpStorm.phpInspectionsEA.indexers.MemberDeclarationsIndexer;
+import com.kalessil.phpStorm.phpInspectionsEA.profiling.CacheStatistics;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.OpenapiResolveUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+final public class MemberOverridesUtil {
+    private static final Key<CachedValue<Map<String, Set<String>>>> overriddenClassesKey = Key.create("ea.overridden_classes");
+    private static final CacheStatistics statistics                                      = CacheStatistics.create("MemberOverridesUtil.getOverriddenClasses");
+
+    /* if any ancestor (parent classes and interfaces) declares own method with the same name */
+    public static boolean isOverridingAncestor(@NotNull Method method) {
+        final PhpClass clazz = method.getContainingClass();
+        if (clazz != null) {
+            final Set<String> declarations = MemberDeclarationsIndexer.getMethodDeclarations(method.getName(), clazz.getProject());
+            if (hasOtherDeclarations(declarations, clazz)) {
+                final String ownFqn = clazz.getFQN();
+                for (final String ancestor : InterfacesExtractUtil.getCrawlInheritanceTreeFqns(clazz, true)) {
+                    if (!ancestor.equals(ownFqn) && declarations.contains(ancestor)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /* if any descendant (child classes and interfaces, implementations) declares own method with the same name */
+    public static boolean isOverriddenByDescendant(@NotNull Method method) {
+        final PhpClass clazz = method.getContainingClass();
+        return clazz != null && !clazz.isFinal() && getOverriddenClasses(method.getName(), clazz.getProject()).contains(clazz.getFQN());
+    }
+
+    /* FQNs of classes and interfaces having a descendant which declares own method with the name, computed once per name */
+    @NotNull
+    private static Set<String> getOverriddenClasses(@NotNull String methodName, @NotNull Project project) {
+        statistics.registerRequest();
+        /* declarations are outside of code blocks, so the cache survives editing of methods bodies */
+        final Map<String, Set<String>> cache = CachedValuesManager.getManager(project).getCachedValue(
+                project,
+                overriddenClassesKey,
+                () -> CachedValueProvider.Result.create(
+                        new ConcurrentHashMap<>(),
+                        PsiModificationTracker.OUT_OF_CODE_BLOCK_MODIFICATION_COUNT
+                ),
+                false
+        );
+        final String key           = methodName.toLowerCase();
+        final Set<String> existing = cache.get(key);
+        if (existing == null) {
+            statistics.registerMiss();
+            /* each declaring class contributes its ancestors: linear in declarations, shared by all same-named methods */
+            final Set<String> result = new HashSet<>();
+            final PhpIndex index     = PhpIndex.getInstance(project);
+            for (final String candidateFqn : MemberDeclarationsIndexer.getMethodDeclarations(methodName, project)) {
+                for (final PhpClass candidate : OpenapiResolveUtil.resolveClassesAndInterfacesByFQN(candidateFqn, index)) {
+                    for (final String ancestor : InterfacesExtractUtil.getCrawlInheritanceTreeFqns(candidate, true)) {
+                        if (!ancestor.equals(candidateFqn)) {
+                            result.add(ancestor);
+                        }
+                    }
+                }
+            }
+            final Set<String> computed = Collections.unmodifiableSet(result);
+            final Set<String> previous = cache.putIfAbsent(key, computed);
+            return previous == null ? computed : previous;
+        }
+        return existing;
+    }
+
+    /* if any other class than the containing one declares own field with the given name (a cheap pre-check) */
+    public static boolean isFieldDeclaredElsewhere(@NotNull PhpClass clazz, @NotNull String fieldName) {
+        return hasOtherDeclarations(MemberDeclarationsIndexer.getFieldDeclarations(fieldName, clazz.getProject()), clazz);
+    }
+
+    private static boolean hasOtherDeclarations(@NotNull Set<String> declarations, @NotNull PhpClass clazz) {
+        return declarations.size() > 1 || (declarations.size() == 1 && !declarations.contains(clazz.getFQN()));
+    }
+}
@@ -0,0 +1,55 @@
+package com.kalessil.phpStorm.phpInspectionsEA.batch;
+
+import com.intellij.codeInspection.InspectionManager;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiElementVisitor;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiRecursiveElementWalkingVisitor;
+import com.kalessil.phpStorm.phpInspectionsEA.PhpCodeInsightFixtureTestCase;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.security.PotentialMalwareInspector;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+final public class StreamingProblemsHolderTest extends PhpCodeInsightFixtureTestCase {
+    public void testSuppressedProblemsAreSkipped() {
+        final PsiFile file = myFixture.configureByFile("testData/fixtures/batch/suppressed-problems.php");
+
+        final List<BatchProblem> problems          = new ArrayList<>();
+        final PotentialMalwareInspector inspection = new PotentialMalwareInspector();
+        final StreamingProblemsHolder holder       = new StreamingProblemsHolder(
+                InspectionManager.getInstance(myFixture.getProject()),
+                file,
+                inspection,
+                "ERROR",
+                "suppressed-problems.php",
+                new ResultsSink() {
+                    @Override
+                    public void accept(@NotNull BatchProblem problem) {
+                        problems.add(problem);
+                    }
+
+                    @Override
+                    public void flush() {
+                    }
+
+                    @Override
+                    public void close() {
+                    }
+                }
+        );
+        final PsiElementVisitor visitor = inspection.buildVisitor(holder, false);
+        file.accept(new PsiRecursiveElementWalkingVisitor() {
+            @Override
+            public void visitElement(@NotNull PsiElement element) {
+                element.accept(visitor);
+                super.visitElement(element);
+            }
+        });
+
+        assertEquals(1, problems.size());
+        assertEquals("PotentialMalwareInspection", problems.get(0).inspection);
+        assertEquals(4, problems.get(0).line);
+    }
+}
@@ -0,0 +1,179 @@
+package com.kalessil.phpStorm.phpInspectionsEA.benchmarks;
+
+import com.intellij.codeInspection.*;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiElementVisitor;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiRecursiveElementWalkingVisitor;
+import com.kalessil.phpStorm.phpInspectionsEA.PhpCodeInsightFixtureTestCase;
+import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpInspection;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.intellij.codeInspection.LocalInspectionEP.LOCAL_INSPECTION;
+
+/**
+ * Per-inspection throughput (files/sec) and allocations (bytes/file) over testData fixtures and synthetic files,
+ * PSI caches (resolve, types, def-use chains and so on) are invalidated before each round.
+ * Excluded from the build unless running with `-Dea.benchmark=true`, `-Dea.benchmark.update=true` re-writes the
+ * stored baseline, `-Dea.benchmark.threshold=0.2` defines the tolerated regression (20% by default).
+ */
+final public class InspectionsBenchmarkTest extends PhpCodeInsightFixtureTestCase {
+    private static final Path baselinePath = Paths.get("testData/benchmarks/baseline.csv");
+    private static final int warmupRounds  = 2;
+    private static final int measureRounds = 5;
+
+    public void testInspectionsPerformance() throws IOException {
+        final boolean isUpdating  = Boolean.getBoolean("ea.benchmark.update");
+        final List<String> stored = Files.readAllLines(baselinePath, StandardCharsets.UTF_8);
+        if (!isUpdating && stored.size() < 2) {
+            fail("No baseline recorded in " + baselinePath + ": record it on this machine with -Dea.benchmark.update=true");
+        }
+
+        final List<PsiFile> files = new ArrayList<>();
+        try (final Stream<Path> fixtures = Files.walk(Paths.get("testData/fixtures"))) {
+            for (final Path fixture : fixtures.filter(path -> path.toString().endsWith(".php")).sorted().collect(Collectors.toList())) {
+                if (!fixture.toString().endsWith(".fixed.php")) {
+                    final String content = new String(Files.readAllBytes(fixture), StandardCharsets.UTF_8);
+                    files.add(myFixture.addFileToProject(fixture.toString(), content));
+                }
+            }
+        }
+        for (int index = 0; index < 10; ++index) {
+            files.add(myFixture.addFileToProject("synthetic/Generated" + index + ".php", generateFile(index, 40, 12)));
+        }
+
+        final Map<String, double[]> measurements = new TreeMap<>();
+        for (final LocalInspectionEP extension : LOCAL_INSPECTION.getExtensions()) {
+            final InspectionProfileEntry tool = extension.instantiateTool();
+            if (tool instanceof BasePhpInspection) {
+                measurements.put(extension.getShortName(), this.measure((LocalInspectionTool) tool, files));
+            }
+        }
+
+        if (isUpdating) {
+            final List<String> lines = new ArrayList<>();
+            lines.add("inspection,filesPerSecond,bytesPerFile");
+            measurements.forEach((name, values) -> lines.add(String.format(Locale.ROOT, "%s,%.1f,%.0f", name, values[0], values[1])));
+            Files.write(baselinePath, lines, StandardCharsets.UTF_8);
+            return;
+        }
+
+        final double threshold    = Double.parseDouble(System.getProperty("ea.benchmark.threshold", "0.2"));
+        final List<String> report = new ArrayList<>();
+        for (final String line : stored) {
+            final String[] parts  = line.split(",");
+            final double[] actual = measurements.get(parts[0]);
+            if (parts.length == 3 && actual != null) {
+                final double throughput = Double.parseDouble(parts[1]);
+                final double allocation = Double.parseDouble(parts[2]);
+                if (actual[0] < throughput * (1 - threshold) || actual[1] > allocation * (1 + threshold)) {
+                    report.add(String.format(
+                            Locale.ROOT,
+                            "%s: %.1f files/sec (baseline %.1f), %.0f bytes/file (baseline %.0f)",
+                            parts[0], actual[0], throughput, actual[1], allocation
+                    ));
+                }
+            }
+        }
+        assertTrue("Performance regressions:\n" + String.join("\n", report), report.isEmpty());
+    }
+
+    /* returns the best throughput (files/sec) and allocations (bytes/file) of measured rounds */
+    private double[] measure(LocalInspectionTool tool, List<PsiFile> files) {
+        final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final long threadId                           = Thread.currentThread().getId();
+        final InspectionManager manager               = InspectionManager.getInstance(myFixture.getProject());
+
+        double throughput = 0;
+        double allocation = Double.MAX_VALUE;
+        for (int round = 0; round < warmupRounds + measureRounds; ++round) {
+            this.invalidateCaches(files);
+            final long bytesBefore = threads.getThreadAllocatedBytes(threadId);
+            final long started     = System.nanoTime();
+            for (final PsiFile file : files) {
+                final LocalInspectionToolSession session = new LocalInspectionToolSession(file, 0, file.getTextLength());
+                final ProblemsHolder holder              = new ProblemsHolder(manager, file, false);
+                final PsiElementVisitor visitor          = tool.buildVisitor(holder, false, session);
+                tool.inspectionStarted(session, false);
+                file.accept(new PsiRecursiveElementWalkingVisitor() {
+                    @Override
+                    public void visitElement(PsiElement element) {
+                        element.accept(visitor);
+                        super.visitElement(element);
+                    }
+                });
+                tool.inspectionFinished(session, holder);
+            }
+            final long elapsed = System.nanoTime() - started;
+            final long bytes   = threads.getThreadAllocatedBytes(threadId) - bytesBefore;
+            if (round >= warmupRounds) {
+                throughput = Math.max(throughput, files.size() / (Math.max(elapsed, 1) / 1e9));
+                allocation = Math.min(allocation, (double) bytes / files.size());
+            }
+        }
+        return new double[]{throughput, allocation};
+    }
+
+    /* each round costs as a highlighting pass after an edit: the files and PSI modification counters are changing */
+    private void invalidateCaches(List<PsiFile> files) {
+        final Project project              = myFixture.getProject();
+        final PsiDocumentManager documents = PsiDocumentManager.getInstance(project);
+        WriteCommandAction.runWriteCommandAction(project, () -> {
+            for (final PsiFile file : files) {
+                final Document document = documents.getDocument(file);
+                if (document != null) {
+                    document.insertString(document.getTextLength(), "\n");
+                }
+            }
+        });
+        documents.commitAllDocuments();
+        PsiManager.getInstance(project).dropPsiCaches();
+    }
+
+    /* large files with typical constructs: loops, conditions, calls, string and array operations */
+    private static String generateFile(int index, int classes, int methods) {
+        final StringBuilder content = new StringBuilder("<?php\n\nnamespace Synthetic\\Generated" + index + ";\n\n");
+        for (int classIndex = 0; classIndex < classes; ++classIndex) {
+            content.append("class Service").append(classIndex)
+                   .append(classIndex > 0 ? " extends Service" + (classIndex - 1) : "").append(" {\n")
+                   .append("    private $items = [];\n    protected $name;\n\n");
+            for (int methodIndex = 0; methodIndex < methods; ++methodIndex) {
+                content.append("    public function method").append(methodIndex).append("($input, array $options = [], $flag = false) {\n")
+                       .append("        $result = [];\n")
+                       .append("        foreach ($input as $key => $value) {\n")
+                       .append("            if ($value == null || strlen($value) == 0) {\n")
+                       .append("                continue;\n")
+                       .append("            }\n")
+                       .append("            if (in_array($value, $this->items) && !empty($options['strict'])) {\n")
+                       .append("                $result[$key] = trim(strtolower($value)) . '_' . $key;\n")
+                       .append("            } elseif (is_array($value) && count($value) > 0) {\n")
+                       .append("                $result = array_merge($result, $value);\n")
+                       .append("            } else {\n")
+                       .append("                $result[] = $flag ? sprintf('%s:%s', $key, $value) : $this->name;\n")
+                       .append("            }\n")
+                       .append("        }\n")
+                       .append("        for ($i = 0; $i < count($result); $i++) {\n")
+                       .append("            $result[$i] = isset($result[$i]) ? $result[$i] : null;\n")
+                       .append("        }\n")
+                       .append("        return $result;\n")
+                       .append("    }\n\n");
+            }
+            content.append("}\n\n");
+        }
+        return content.toString();
+    }
+}
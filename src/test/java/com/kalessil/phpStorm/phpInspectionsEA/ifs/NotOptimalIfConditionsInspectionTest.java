@@ -20,6 +20,16 @@ final public class NotOptimalIfConditionsInspectionTest extends PhpCodeInsightFi
         myFixture.testHighlighting(true, false, true);
     }
 
+    public void testCustomCostsPatterns() {
+        NotOptimalIfConditionsInspection inspector = new NotOptimalIfConditionsInspection();
+        inspector.SUGGEST_OPTIMIZING_CONDITIONS    = true;
+        inspector.CUSTOM_COSTS.add("in_array:8");
+        inspector.CUSTOM_COSTS.add("::getConfiguration:1");
+        myFixture.enableInspections(inspector);
+        myFixture.configureByFile("testData/fixtures/ifs/if-custom-costs.php");
+        myFixture.testHighlighting(true, false, true);
+    }
+
     public void testLiteralOperatorsPatterns() {
         NotOptimalIfConditionsInspection inspector = new NotOptimalIfConditionsInspection();
         inspector.REPORT_LITERAL_OPERATORS         = true;
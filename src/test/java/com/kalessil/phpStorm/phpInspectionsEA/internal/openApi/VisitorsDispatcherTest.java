@@ -0,0 +1,56 @@
+package com.kalessil.phpStorm.phpInspectionsEA.internal.openApi;
+
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiRecursiveElementWalkingVisitor;
+import com.jetbrains.php.lang.psi.elements.BinaryExpression;
+import com.jetbrains.php.lang.psi.elements.FunctionReference;
+import com.kalessil.phpStorm.phpInspectionsEA.PhpCodeInsightFixtureTestCase;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.languageConstructions.TypeUnsafeComparisonInspector;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.NotOptimalRegularExpressionsInspector;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.semanticalAnalysis.binaryOperations.SuspiciousBinaryOperationInspector;
+import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpElementVisitor;
+import com.kalessil.phpStorm.phpInspectionsEA.openApi.VisitorsDispatcher;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+final public class VisitorsDispatcherTest extends PhpCodeInsightFixtureTestCase {
+    public void testRouting() {
+        final PsiFile file = myFixture.configureByText("test.php", "<?php preg_match('/a/', $x); strlen($x); $a == $b; $a + $b;");
+
+        final RecordingVisitor functionsFiltered = new RecordingVisitor();
+        final RecordingVisitor operatorsFiltered = new RecordingVisitor();
+        final RecordingVisitor unfiltered        = new RecordingVisitor();
+        final VisitorsDispatcher dispatcher      = new VisitorsDispatcher();
+        dispatcher.register(new NotOptimalRegularExpressionsInspector(), functionsFiltered);
+        dispatcher.register(new TypeUnsafeComparisonInspector(), operatorsFiltered);
+        dispatcher.register(new SuspiciousBinaryOperationInspector(), unfiltered);
+        file.accept(new PsiRecursiveElementWalkingVisitor() {
+            @Override
+            public void visitElement(@NotNull PsiElement element) {
+                element.accept(dispatcher);
+                super.visitElement(element);
+            }
+        });
+
+        assertEquals("[preg_match, $a == $b, $a + $b]", functionsFiltered.visited.toString());
+        assertEquals("[preg_match, strlen, $a == $b]", operatorsFiltered.visited.toString());
+        assertEquals("[preg_match, strlen, $a == $b, $a + $b]", unfiltered.visited.toString());
+    }
+
+    private static final class RecordingVisitor extends BasePhpElementVisitor {
+        private final List<String> visited = new ArrayList<>();
+
+        @Override
+        public void visitPhpFunctionCall(@NotNull FunctionReference reference) {
+            this.visited.add(reference.getName());
+        }
+
+        @Override
+        public void visitPhpBinaryExpression(@NotNull BinaryExpression expression) {
+            this.visited.add(expression.getText());
+        }
+    }
+}
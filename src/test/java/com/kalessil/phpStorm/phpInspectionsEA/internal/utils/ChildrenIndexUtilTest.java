@@ -0,0 +1,43 @@
+package com.kalessil.phpStorm.phpInspectionsEA.internal.utils;
+
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.jetbrains.php.lang.psi.PhpPsiElementFactory;
+import com.jetbrains.php.lang.psi.elements.*;
+import com.kalessil.phpStorm.phpInspectionsEA.PhpCodeInsightFixtureTestCase;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.ChildrenIndexUtil;
+
+import java.util.ArrayList;
+
+final public class ChildrenIndexUtilTest extends PhpCodeInsightFixtureTestCase {
+    public void testMatchesTreeWalking() {
+        String pattern    =
+                "function test($a) { " +
+                    "$b = $a + 1; " +
+                    "foreach ($a as $c) { $b = $c; } " +
+                    "return function () use ($b) { return $b; }; " +
+                "}";
+        Function function = PhpPsiElementFactory.createFromText(myFixture.getProject(), Function.class, pattern);
+        assertNotNull(function);
+
+        assertEquals(
+            new ArrayList<>(PsiTreeUtil.findChildrenOfType(function, Variable.class)),
+            ChildrenIndexUtil.findChildrenOfType(function, Variable.class)
+        );
+        assertSame(
+            ChildrenIndexUtil.findChildrenOfType(function, Variable.class),
+            ChildrenIndexUtil.findChildrenOfType(function, Variable.class)
+        );
+
+        PsiElement loop = PsiTreeUtil.findChildOfType(function, ForeachStatement.class);
+        assertNotNull(loop);
+        assertEquals(
+            new ArrayList<>(PsiTreeUtil.findChildrenOfType(loop, Variable.class)),
+            ChildrenIndexUtil.findChildrenOfType(loop, Variable.class)
+        );
+
+        PsiElement variable = PsiTreeUtil.findChildOfType(function, Variable.class);
+        assertNotNull(variable);
+        assertEquals(0, ChildrenIndexUtil.findChildrenOfType(variable, Variable.class).size());
+    }
+}
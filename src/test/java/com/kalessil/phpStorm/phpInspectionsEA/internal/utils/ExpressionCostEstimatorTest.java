@@ -0,0 +1,51 @@
+package com.kalessil.phpStorm.phpInspectionsEA.internal.utils;
+
+import com.intellij.psi.PsiElement;
+import com.jetbrains.php.lang.psi.PhpPsiElementFactory;
+import com.jetbrains.php.lang.psi.elements.BinaryExpression;
+import com.kalessil.phpStorm.phpInspectionsEA.PhpCodeInsightFixtureTestCase;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.ifs.utils.ExpressionCostEstimator;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.ifs.utils.ExpressionCostTable;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+final public class ExpressionCostEstimatorTest extends PhpCodeInsightFixtureTestCase {
+    public void testDefaultCosts() {
+        final ExpressionCostTable costs = ExpressionCostTable.create(Collections.singleton("is_array"), Collections.emptyList());
+        assertEquals(0, costs.getFunctionCallCost("is_array"));
+        assertEquals(0, costs.getFunctionCallCost("IS_ARRAY"));
+        assertEquals(5, costs.getFunctionCallCost("in_array"));
+        assertEquals(5, costs.getMethodCallCost("get"));
+        assertEquals(1, costs.getArrayAccessCost());
+        assertEquals(10, costs.getUnknownExpressionCost());
+    }
+
+    public void testCustomCosts() {
+        final ExpressionCostTable costs = ExpressionCostTable.create(
+                Collections.singleton("is_array"),
+                Arrays.asList("function,cost", "# APM timings", "is_array:2", "in_array, 7.6", "::get:1", "@method:6", "@unknown:abc")
+        );
+        assertEquals(2, costs.getFunctionCallCost("is_array"));
+        assertEquals(8, costs.getFunctionCallCost("in_array"));
+        assertEquals(5, costs.getFunctionCallCost("strlen"));
+        assertEquals(1, costs.getMethodCallCost("get"));
+        assertEquals(6, costs.getMethodCallCost("set"));
+        assertEquals(10, costs.getUnknownExpressionCost());
+    }
+
+    public void testEstimation() {
+        final ExpressionCostTable costs = ExpressionCostTable.create(Collections.emptyList(), Collections.singletonList("::get:1"));
+        final PsiElement expression     = PhpPsiElementFactory.createFromText(
+                myFixture.getProject(),
+                BinaryExpression.class,
+                "$x->get($y[0]) && in_array($x, $_GET['y']);"
+        );
+        assertNotNull(expression);
+
+        final ExpressionCostEstimator estimator = new ExpressionCostEstimator(costs);
+        assertEquals(7, estimator.getExpressionCost(expression));
+        assertEquals(7, estimator.getExpressionCost(expression));
+        assertEquals(0, estimator.getExpressionCost(null));
+    }
+}
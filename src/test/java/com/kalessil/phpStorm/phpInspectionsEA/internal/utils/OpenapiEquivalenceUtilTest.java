@@ -0,0 +1,32 @@
+package com.kalessil.phpStorm.phpInspectionsEA.internal.utils;
+
+import com.intellij.openapi.project.Project;
+import com.jetbrains.php.lang.psi.PhpPsiElementFactory;
+import com.jetbrains.php.lang.psi.elements.ArrayCreationExpression;
+import com.jetbrains.php.lang.psi.elements.FunctionReference;
+import com.kalessil.phpStorm.phpInspectionsEA.PhpCodeInsightFixtureTestCase;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.OpenapiEquivalenceUtil;
+
+final public class OpenapiEquivalenceUtilTest extends PhpCodeInsightFixtureTestCase {
+    public void testFingerprintIgnoresFormatting() {
+        Project project = myFixture.getProject();
+
+        FunctionReference first  = PhpPsiElementFactory.createFromText(project, FunctionReference.class, "f($x, [1, 2]);");
+        FunctionReference second = PhpPsiElementFactory.createFromText(project, FunctionReference.class, "f( $x /* comment */ ,[1,2] );");
+        assertNotNull(first);
+        assertNotNull(second);
+        assertEquals(OpenapiEquivalenceUtil.getFingerprint(first), OpenapiEquivalenceUtil.getFingerprint(second));
+        assertTrue(OpenapiEquivalenceUtil.areEqual(first, second));
+    }
+
+    public void testFingerprintRejectsDifferentElements() {
+        Project project = myFixture.getProject();
+
+        ArrayCreationExpression first  = PhpPsiElementFactory.createFromText(project, ArrayCreationExpression.class, "['a' => 1, 'b' => 2];");
+        ArrayCreationExpression second = PhpPsiElementFactory.createFromText(project, ArrayCreationExpression.class, "['a' => 1, 'b' => 3];");
+        assertNotNull(first);
+        assertNotNull(second);
+        assertFalse(OpenapiEquivalenceUtil.getFingerprint(first) == OpenapiEquivalenceUtil.getFingerprint(second));
+        assertFalse(OpenapiEquivalenceUtil.areEqual(first, second));
+    }
+}
@@ -0,0 +1,43 @@
+package com.kalessil.phpStorm.phpInspectionsEA.internal.utils;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.jetbrains.php.lang.psi.elements.BinaryExpression;
+import com.jetbrains.php.lang.psi.elements.FunctionReference;
+import com.jetbrains.php.lang.psi.resolve.types.PhpType;
+import com.kalessil.phpStorm.phpInspectionsEA.PhpCodeInsightFixtureTestCase;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.OpenapiResolveUtil;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.TypeSet;
+
+import java.util.ArrayList;
+import java.util.List;
+
+final public class OpenapiResolveUtilTest extends PhpCodeInsightFixtureTestCase {
+    public void testResolvedTypesAreShared() {
+        PsiFile file    = myFixture.configureByText("test.php", "<?php $x = 1 + 2;");
+        Project project = myFixture.getProject();
+
+        BinaryExpression expression = PsiTreeUtil.findChildOfType(file, BinaryExpression.class);
+        assertNotNull(expression);
+
+        PhpType resolved = OpenapiResolveUtil.resolveType(expression, project);
+        assertNotNull(resolved);
+        assertSame(resolved, OpenapiResolveUtil.resolveType(expression, project));
+        assertEquals(TypeSet.INTEGER, OpenapiResolveUtil.resolveTypeSet(expression, project).getCore());
+    }
+
+    public void testNarrowedReplacementsAreIndependent() {
+        PsiFile file = myFixture.configureByText(
+                "test.php",
+                "<?php $x = str_replace('a', 'b', 'c'); $y = str_replace('a', 'b', ['c']); $z = str_replace('a', 'b', 'c');"
+        );
+        Project project = myFixture.getProject();
+
+        List<FunctionReference> calls = new ArrayList<>(PsiTreeUtil.findChildrenOfType(file, FunctionReference.class));
+        assertEquals(3, calls.size());
+        assertEquals(TypeSet.STRING, OpenapiResolveUtil.resolveTypeSet(calls.get(0), project).getCore());
+        assertEquals(TypeSet.ARRAY, OpenapiResolveUtil.resolveTypeSet(calls.get(1), project).getCore());
+        assertEquals(TypeSet.STRING, OpenapiResolveUtil.resolveTypeSet(calls.get(2), project).getCore());
+    }
+}
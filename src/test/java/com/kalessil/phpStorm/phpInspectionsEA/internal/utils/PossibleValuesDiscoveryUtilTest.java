@@ -124,4 +124,48 @@ final public class PossibleValuesDiscoveryUtilTest extends PhpCodeInsightFixture
         assertTrue(values.stream().anyMatch(variant -> variant instanceof StringLiteralExpression));
         assertTrue(values.stream().anyMatch(variant -> variant instanceof ConstantReference));
     }
+
+    public void testDiscoveredValuesAreMemoized() {
+        String pattern    = "function test($parameter = false) { $parameter = null; return $parameter; }";
+        Function callable = PhpPsiElementFactory.createFromText(myFixture.getProject(), Function.class, pattern);
+        assertNotNull(callable);
+
+        PsiElement expression = PsiTreeUtil.findChildOfType(callable, PhpReturn.class);
+        assertNotNull(expression);
+        expression = PsiTreeUtil.findChildOfType(expression, Variable.class);
+        assertNotNull(expression);
+
+        PsiElement[] values = PossibleValuesDiscoveryUtil.discoverValues(expression);
+        assertEquals(2, values.length);
+        assertSame(values, PossibleValuesDiscoveryUtil.discoverValues(expression));
+        assertNull(PossibleValuesDiscoveryUtil.discoverSingle(expression));
+
+        /* the modifiable copy does not affect the memoized values */
+        Set<PsiElement> copy = PossibleValuesDiscoveryUtil.discover(expression);
+        copy.clear();
+        assertEquals(2, PossibleValuesDiscoveryUtil.discoverValues(expression).length);
+    }
+
+    public void testSingleValueDiscovery() {
+        String pattern        = "$x ?? false;";
+        PsiElement expression = PhpPsiElementFactory.createFromText(myFixture.getProject(), BinaryExpression.class, pattern);
+        assertNotNull(expression);
+
+        assertInstanceOf(PossibleValuesDiscoveryUtil.discoverSingle(expression), ConstantReference.class);
+    }
+
+    public void testEmptyParenthesesAreNotValues() {
+        String pattern    = "function test() { $x = (); $x = 'value'; return $x; }";
+        Function callable = PhpPsiElementFactory.createFromText(myFixture.getProject(), Function.class, pattern);
+        assertNotNull(callable);
+
+        PsiElement expression = PsiTreeUtil.findChildOfType(callable, PhpReturn.class);
+        assertNotNull(expression);
+        expression = PsiTreeUtil.findChildOfType(expression, Variable.class);
+        assertNotNull(expression);
+
+        PsiElement[] values = PossibleValuesDiscoveryUtil.discoverValues(expression);
+        assertEquals(1, values.length);
+        assertInstanceOf(PossibleValuesDiscoveryUtil.discoverSingle(expression), StringLiteralExpression.class);
+    }
 }
@@ -0,0 +1,28 @@
+package com.kalessil.phpStorm.phpInspectionsEA.internal.utils;
+
+import com.kalessil.phpStorm.phpInspectionsEA.PhpCodeInsightFixtureTestCase;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.SignaturesMatcher;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+final public class SignaturesMatcherTest extends PhpCodeInsightFixtureTestCase {
+    public void testMatching() {
+        final SignaturesMatcher matcher = new SignaturesMatcher(Arrays.asList("eval", "base64_decode", "he", "she", "hers"));
+
+        assertTrue(matcher.containsAny("<?php EVAL(Base64_Decode($x));"));
+        assertTrue(matcher.containsAny("ushers"));
+        assertTrue(matcher.containsAny("ß she"));
+        assertTrue(matcher.containsAny("base64_deco base64_decode"));
+
+        assertFalse(matcher.containsAny("<?php echo 1;"));
+        assertFalse(matcher.containsAny("base64_decod"));
+        assertFalse(matcher.containsAny("ev al"));
+        assertFalse(matcher.containsAny(""));
+    }
+
+    public void testEmptySignatures() {
+        assertFalse(new SignaturesMatcher(Collections.emptyList()).containsAny("<?php eval($x);"));
+        assertFalse(new SignaturesMatcher(Collections.singletonList("")).containsAny("<?php eval($x);"));
+    }
+}
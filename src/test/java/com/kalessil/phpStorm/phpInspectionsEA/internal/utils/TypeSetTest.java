@@ -0,0 +1,66 @@
+package com.kalessil.phpStorm.phpInspectionsEA.internal.utils;
+
+import com.jetbrains.php.lang.psi.resolve.types.PhpType;
+import com.kalessil.phpStorm.phpInspectionsEA.PhpCodeInsightFixtureTestCase;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.TypeSet;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.Types;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.TypesSemanticsUtil;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+final public class TypeSetTest extends PhpCodeInsightFixtureTestCase {
+    public void testNormalization() {
+        final TypeSet types = TypeSet.of(Arrays.asList("\\Foo", "\\null", "Integer", "string[]", "#M#C\\Foo.bar", "\\Foo"));
+        assertEquals(4, types.size());
+        assertEquals(new HashSet<>(Arrays.asList("\\Foo", Types.strNull, Types.strInteger, Types.strArray)), types.toStrings());
+        assertTrue(types.isNullable());
+        assertTrue(types.hasAny(TypeSet.INTEGER | TypeSet.FLOAT));
+        assertFalse(types.hasOnly(TypeSet.INTEGER | TypeSet.ARRAY | TypeSet.NULL, false));
+        assertTrue(types.hasOnly(TypeSet.INTEGER | TypeSet.ARRAY | TypeSet.NULL, true));
+        assertTrue(types.contains("int"));
+        assertTrue(types.contains("\\Foo"));
+        assertFalse(types.contains("\\Bar"));
+        assertEquals(Collections.singletonList("\\Foo"), types.getClasses());
+
+        final TypeSet resolved = TypeSet.of(new PhpType().add(PhpType.INT).add("\\Foo").add("\\NULL"));
+        assertEquals(TypeSet.of(Arrays.asList("\\Foo", "int", "null")), resolved);
+    }
+
+    public void testOperations() {
+        final TypeSet first  = TypeSet.of(Arrays.asList("\\Foo", "\\Bar", "null"));
+        final TypeSet second = TypeSet.of(Arrays.asList("\\Bar", "\\Baz", "int", "null"));
+
+        assertEquals(TypeSet.of(Arrays.asList("\\Foo", "\\Bar", "\\Baz", "int", "null")), first.union(second));
+        assertEquals(first.union(second), second.union(first));
+        assertEquals(TypeSet.of(Arrays.asList("\\Bar", "null")), first.intersection(second));
+        assertSame(TypeSet.EMPTY, TypeSet.of(Collections.singletonList("null")).withoutNull());
+        assertSame(first, first.without(TypeSet.ARRAY));
+        assertFalse(first.withoutNull().isNullable());
+    }
+
+    public void testNullableObjectInterface() {
+        assertTrue(TypesSemanticsUtil.isNullableObjectInterface(TypeSet.of(Arrays.asList("\\Foo", "null"))));
+        assertTrue(TypesSemanticsUtil.isNullableObjectInterface(TypeSet.of(Collections.singletonList("\\Foo"))));
+        assertFalse(TypesSemanticsUtil.isNullableObjectInterface(TypeSet.of(Collections.singletonList("null"))));
+        assertFalse(TypesSemanticsUtil.isNullableObjectInterface(TypeSet.of(Arrays.asList("\\Foo", "string"))));
+        assertFalse(TypesSemanticsUtil.isNullableObjectInterface(TypeSet.EMPTY));
+    }
+
+    public void testSetsFromDifferentInterningTables() {
+        final TypeSet first = TypeSet.of(Arrays.asList("\\Foo", "\\Bar", "null"));
+        /* overflow the interning table, so a fresh one gets started */
+        for (int index = 0; index < 40000; ++index) {
+            TypeSet.of(Collections.singletonList("\\Generated" + index));
+        }
+        final TypeSet second = TypeSet.of(Arrays.asList("\\Bar", "\\Foo", "null"));
+        final TypeSet third  = TypeSet.of(Arrays.asList("\\Bar", "\\Baz", "int"));
+
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+        assertEquals(TypeSet.of(Arrays.asList("\\Foo", "\\Bar", "\\Baz", "int", "null")), first.union(third));
+        assertEquals(TypeSet.of(Collections.singletonList("\\Bar")), first.intersection(third));
+        assertTrue(first.contains("\\Foo"));
+    }
+}
@@ -44,4 +44,10 @@ final public class ReturnTypeCanBeDeclaredInspectorTest extends PhpCodeInsightFi
         myFixture.configureByFile("testData/fixtures/lang/typeHints/return-type-hints.refactoring-target.php");
         myFixture.testHighlighting(true, false, true);
     }
+    public void testRefactoringTargetAmongManyDeclarations() {
+        PhpProjectConfigurationFacade.getInstance(myFixture.getProject()).setLanguageLevel(PhpLanguageLevel.PHP710);
+        myFixture.enableInspections(new ReturnTypeCanBeDeclaredInspector());
+        myFixture.configureByFile("testData/fixtures/lang/typeHints/return-type-hints.many-declarations.php");
+        myFixture.testHighlighting(true, false, true);
+    }
 }
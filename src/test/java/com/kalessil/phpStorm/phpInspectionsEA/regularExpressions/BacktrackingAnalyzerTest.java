@@ -0,0 +1,29 @@
+package com.kalessil.phpStorm.phpInspectionsEA.regularExpressions;
+
+import com.kalessil.phpStorm.phpInspectionsEA.PhpCodeInsightFixtureTestCase;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.BacktrackingAnalyzer;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.BacktrackingAnalyzer.Complexity;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.RegexParser;
+
+final public class BacktrackingAnalyzerTest extends PhpCodeInsightFixtureTestCase {
+    private static BacktrackingAnalyzer.Result analyze(String pattern, String modifiers) {
+        return BacktrackingAnalyzer.analyze(RegexParser.parse(pattern), modifiers, true);
+    }
+
+    public void testComplexity() {
+        assertEquals(Complexity.EXPONENTIAL, analyze("(a|a)*$", null).getComplexity());
+        assertEquals("(a?b?)*", analyze("(a?b?)*$", null).getFragment());
+        assertEquals(Complexity.POLYNOMIAL, analyze("\\d+\\d+$", null).getComplexity());
+        assertEquals(Complexity.POLYNOMIAL, analyze(".*a.*$", null).getComplexity());
+
+        assertEquals(Complexity.LINEAR, analyze("(?>a+)+$", null).getComplexity());
+        assertEquals(Complexity.LINEAR, analyze("(a++)+$", null).getComplexity());
+        assertEquals(Complexity.LINEAR, analyze("^[a-z]+@[a-z]+$", null).getComplexity());
+    }
+
+    public void testModifiers() {
+        assertEquals(Complexity.LINEAR, analyze("(A|a)+$", null).getComplexity());
+        assertEquals(Complexity.EXPONENTIAL, analyze("(A|a)+$", "i").getComplexity());
+        assertEquals(Complexity.LINEAR, BacktrackingAnalyzer.analyze(RegexParser.parse("\\d+\\d+$"), null, false).getComplexity());
+    }
+}
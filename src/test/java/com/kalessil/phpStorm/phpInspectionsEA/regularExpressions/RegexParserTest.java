@@ -0,0 +1,29 @@
+package com.kalessil.phpStorm.phpInspectionsEA.regularExpressions;
+
+import com.kalessil.phpStorm.phpInspectionsEA.PhpCodeInsightFixtureTestCase;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.RegexNode;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.RegexParser;
+
+import java.util.List;
+
+final public class RegexParserTest extends PhpCodeInsightFixtureTestCase {
+    public void testStructure() {
+        RegexNode tree = RegexParser.parse("^(?:\\d+|[a-z.]*?)+\\.$");
+        assertSame(tree, RegexParser.parse("^(?:\\d+|[a-z.]*?)+\\.$"));
+
+        List<RegexNode> quantifiers = tree.findAll(RegexNode.Type.QUANTIFIER);
+        assertEquals(3, quantifiers.size());
+        assertEquals("+", quantifiers.get(0).getQuantifierText());
+        assertEquals(RegexNode.GroupType.NON_CAPTURING, quantifiers.get(0).getQuantified().getGroupType());
+        assertTrue(quantifiers.get(2).isLazy());
+
+        assertEquals(0, tree.findAll(RegexNode.Type.DOT).size());
+        assertEquals(2, tree.findAll(RegexNode.Type.ANCHOR).size());
+    }
+
+    public void testMalformedPatterns() {
+        assertEquals("([a-z", RegexParser.parse("([a-z").getText());
+        assertEquals(1, RegexParser.parse("a)b{x}").getChildren().size());
+        assertEquals("[\\$]", RegexParser.unescape("[\\\\$]", true));
+    }
+}
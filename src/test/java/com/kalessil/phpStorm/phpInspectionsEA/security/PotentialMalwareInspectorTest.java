@@ -9,4 +9,12 @@ final public class PotentialMalwareInspectorTest extends PhpCodeInsightFixtureTe
         myFixture.configureByFile("testData/fixtures/security/malware-patterns.php");
         myFixture.testHighlighting(true, false, true);
     }
+    public void testVariableCallsWithValuesDeclaredElsewhere() {
+        myFixture.enableInspections(new PotentialMalwareInspector());
+        myFixture.configureByFiles(
+                "testData/fixtures/security/malware-patterns-values-elsewhere.php",
+                "testData/fixtures/security/malware-patterns-values-declarations.php"
+        );
+        myFixture.testHighlighting(true, false, true);
+    }
 }
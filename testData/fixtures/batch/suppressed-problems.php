@@ -0,0 +1,8 @@
+<?php
+
+function suppression_cases_holder() {
+    touch('', time(), time());
+
+    /** @noinspection PotentialMalwareInspection */
+    touch('', time(), time());
+}
@@ -6,6 +6,9 @@
     /** <weak_warning descr="Unknown inspection: UsingInclusionReturnValueInspectXXX.">@noinspection</weak_warning> UsingInclusionReturnValueInspectXXX */
     /** <weak_warning descr="Unknown inspection: UsingInclusionReturnValueInspectXXX.">@noinspection</weak_warning> UsingInclusionReturnValueInspectXXX - some comments */
 
+    /** <weak_warning descr="Unknown inspection: UsingInclusionReturnValueInspectXXX, ElvisOperatorCanBeUsedInspectXXX.">@noinspection</weak_warning> UsingInclusionReturnValueInspectXXX;ElvisOperatorCanBeUsedInspectXXX */
+
     /* false-positives */
     /*  @noinspection UnknownInspectionInspection PhpMissingParentCallCommonInspection */
     /** @noinspection UnknownInspectionInspection PhpMissingParentCallCommonInspection */
+    /** @noinspection (PhpMissingParentCallCommonInspection);UnknownInspectionInspection */
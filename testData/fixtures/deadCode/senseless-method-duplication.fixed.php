@@ -48,4 +48,16 @@
             echo 2;
         }
 
-    }
\ No newline at end of file
+    }
+
+    trait TraitMethodDefinedHere {
+        public function traitMethod($x)
+        {
+            return trim($x);
+        }
+    }
+
+    class ClassUsingTrait {
+        use TraitMethodDefinedHere;
+
+        }
\ No newline at end of file
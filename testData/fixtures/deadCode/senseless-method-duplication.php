@@ -62,4 +62,20 @@
             echo 2;
         }
 
+    }
+
+    trait TraitMethodDefinedHere {
+        public function traitMethod($x)
+        {
+            return trim($x);
+        }
+    }
+
+    class ClassUsingTrait {
+        use TraitMethodDefinedHere;
+
+        public function <weak_warning descr="'traitMethod' method can be dropped, as it identical to trait's one.">traitMethod</weak_warning>($x)
+        {
+            return trim($x);
+        }
     }
\ No newline at end of file
@@ -0,0 +1,12 @@
+<?php
+
+    /* costs from the settings: 'in_array:8', '::getConfiguration:1' */
+    if (
+        in_array($needle, $haystack) &&
+        <weak_warning descr="This condition execution costs less than the previous one.">$this->getConfiguration()</weak_warning>
+    ) {}
+    if ($this->getConfiguration() && in_array($needle, $haystack)) {}
+
+    /* other functions and methods are estimated as usually */
+    if ($this->getConfiguration() && $this->getParameters()) {}
+    if (is_array($a) && $this->getParameters()) {}
@@ -0,0 +1,77 @@
+<?php
+
+/* many classes are declaring the same method: only the hierarchy of the inspected class matters */
+
+class BaseEntity {
+    function <weak_warning descr="': void' can be declared as return type hint (please use change signature intention to fix this).">getId</weak_warning>() { return; }
+}
+
+class MiddleEntity extends BaseEntity {}
+
+class Entity1 extends MiddleEntity {
+    function <weak_warning descr="': void' can be declared as return type hint (please use change signature intention to fix this).">getId</weak_warning>() { return; }
+}
+
+class Entity2 extends BaseEntity {
+    function <weak_warning descr="': void' can be declared as return type hint (please use change signature intention to fix this).">getId</weak_warning>() { return; }
+}
+
+class Entity3 extends MiddleEntity {
+    function <weak_warning descr="': void' can be declared as return type hint (please use change signature intention to fix this).">getId</weak_warning>() { return; }
+}
+
+class Entity4 extends BaseEntity {
+    function <weak_warning descr="': void' can be declared as return type hint (please use change signature intention to fix this).">getId</weak_warning>() { return; }
+}
+
+class Entity5 extends MiddleEntity {
+    function <weak_warning descr="': void' can be declared as return type hint (please use change signature intention to fix this).">getId</weak_warning>() { return; }
+}
+
+class Entity6 extends BaseEntity {
+    function <weak_warning descr="': void' can be declared as return type hint (please use change signature intention to fix this).">getId</weak_warning>() { return; }
+}
+
+class Entity7 extends MiddleEntity {
+    function <weak_warning descr="': void' can be declared as return type hint (please use change signature intention to fix this).">getId</weak_warning>() { return; }
+}
+
+class Entity8 extends BaseEntity {
+    function <weak_warning descr="': void' can be declared as return type hint (please use change signature intention to fix this).">getId</weak_warning>() { return; }
+}
+
+class UnrelatedEntity1 {
+    function <weak_warning descr="': void' can be declared as return type hint.">getId</weak_warning>() { return; }
+}
+
+class UnrelatedEntity2 {
+    function <weak_warning descr="': void' can be declared as return type hint.">getId</weak_warning>() { return; }
+}
+
+class UnrelatedEntity3 {
+    function <weak_warning descr="': void' can be declared as return type hint.">getId</weak_warning>() { return; }
+}
+
+class UnrelatedEntity4 {
+    function <weak_warning descr="': void' can be declared as return type hint.">getId</weak_warning>() { return; }
+}
+
+class UnrelatedEntity5 {
+    function <weak_warning descr="': void' can be declared as return type hint.">getId</weak_warning>() { return; }
+}
+
+class UnrelatedEntity6 {
+    function <weak_warning descr="': void' can be declared as return type hint.">getId</weak_warning>() { return; }
+}
+
+class UnrelatedEntity7 {
+    function <weak_warning descr="': void' can be declared as return type hint.">getId</weak_warning>() { return; }
+}
+
+class UnrelatedEntity8 {
+    function <weak_warning descr="': void' can be declared as return type hint.">getId</weak_warning>() { return; }
+}
+
+class NotOverriddenEntity extends UnrelatedEntity1 {
+    function <weak_warning descr="': void' can be declared as return type hint.">getName</weak_warning>() { return; }
+}
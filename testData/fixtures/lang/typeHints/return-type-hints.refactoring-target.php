@@ -22,3 +22,16 @@ class ImplementsAbstractMethods extends ExistingParent {
 }
 
 
+
+class OverriddenInDescendant {
+    function <weak_warning descr="': void' can be declared as return type hint (please use change signature intention to fix this).">overriddenMethod</weak_warning>() { return; }
+}
+
+class OverridesInDescendant extends OverriddenInDescendant {
+    function <weak_warning descr="': void' can be declared as return type hint (please use change signature intention to fix this).">overriddenMethod</weak_warning>() { return; }
+}
+
+class UnrelatedToHierarchies {
+    function <weak_warning descr="': void' can be declared as return type hint.">methodWithUndeclaredType</weak_warning>() { return; }
+    function <weak_warning descr="': void' can be declared as return type hint.">overriddenMethod</weak_warning>() { return; }
+}
@@ -13,9 +13,9 @@
     preg_match(<error descr="( \D* )* might be exploited (ReDoS, Regular Expression Denial of Service).">'/(|\D*|)*/'</error>, '');
     preg_match(<error descr="( \D* )* might be exploited (ReDoS, Regular Expression Denial of Service).">'/(|\D*)*/'</error>, '');
 
-    preg_match('/(\D*){1,10}/', '');
-    preg_match('/(\D*){1,}/', '');
-    preg_match('/(\D{1,})*/', '');
+    preg_match(<error descr="'(\D*){1,10}' can cause catastrophic backtracking (ReDoS, Regular Expression Denial of Service).">'/(\D*){1,10}/'</error>, '');
+    preg_match(<error descr="'(\D*){1,}' can cause catastrophic backtracking (ReDoS, Regular Expression Denial of Service).">'/(\D*){1,}/'</error>, '');
+    preg_match(<error descr="'(\D{1,})*' can cause catastrophic backtracking (ReDoS, Regular Expression Denial of Service).">'/(\D{1,})*/'</error>, '');
 
     preg_match('/(\D+|\W+)*+/', '');
     preg_match('/(?>(\d+|\w+)*)/', '');
\ No newline at end of file
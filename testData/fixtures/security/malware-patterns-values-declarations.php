@@ -0,0 +1,5 @@
+<?php
+
+    class DecodersRegistry {
+        const DEFAULT_DECODER = 'base64_decode';
+    }
@@ -0,0 +1,6 @@
+<?php
+
+    function <error descr="This function looks pretty much as part of some malware.">decode6</error>($payload) {
+        $decoder = DecodersRegistry::DEFAULT_DECODER;
+        return $decoder($payload);
+    }